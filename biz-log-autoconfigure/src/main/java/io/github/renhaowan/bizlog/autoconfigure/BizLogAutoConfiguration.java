@@ -2,15 +2,19 @@ package io.github.renhaowan.bizlog.autoconfigure;
 
 import io.github.renhaowan.bizlog.autoconfigure.configure.LogErrorHandlerConfiguration;
 import io.github.renhaowan.bizlog.autoconfigure.configure.LogExecutorConfiguration;
+import io.github.renhaowan.bizlog.autoconfigure.configure.LogMetricsConfiguration;
 import io.github.renhaowan.bizlog.autoconfigure.configure.LogStorageConfiguration;
 import io.github.renhaowan.bizlog.autoconfigure.configure.TemplateParserConfiguration;
 import io.github.renhaowan.bizlog.core.log.BizLogProperties;
 import io.github.renhaowan.bizlog.core.service.BizLogAspect;
 import io.github.renhaowan.bizlog.core.service.BizLogManager;
+import io.github.renhaowan.bizlog.core.service.BizLogPrecompiler;
 import io.github.renhaowan.bizlog.core.service.error.LogErrorHandler;
 import io.github.renhaowan.bizlog.core.service.executor.LogExecutorProvider;
+import io.github.renhaowan.bizlog.core.service.metrics.BizLogMetrics;
 import io.github.renhaowan.bizlog.core.service.parse.impl.CompositeLogTemplateParser;
 import io.github.renhaowan.bizlog.core.service.storage.LogStorageManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -24,12 +28,12 @@ import java.util.Map;
  * @author wan
  * 自动配置类
  */
-@AutoConfiguration
+@AutoConfiguration(afterName = "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration")
 @EnableConfigurationProperties(BizLogProperties.class)
 @ConditionalOnProperty(prefix = "biz.log", name = "enabled", havingValue = "true"
         , matchIfMissing = true)
 @Import({TemplateParserConfiguration.class, LogStorageConfiguration.class,
-        LogExecutorConfiguration.class, LogErrorHandlerConfiguration.class})
+        LogExecutorConfiguration.class, LogErrorHandlerConfiguration.class, LogMetricsConfiguration.class})
 public class BizLogAutoConfiguration {
 
     /**
@@ -63,6 +67,8 @@ public class BizLogAutoConfiguration {
      * @param parser 日志模板解析器
      * @param executor 日志执行器
      * @param errorHandler 日志异常处理器
+     * @param prop 配置属性
+     * @param metrics 链路指标
      * @return 日志管理器
      */
     @Bean
@@ -70,8 +76,27 @@ public class BizLogAutoConfiguration {
     public BizLogManager bizLogManager(LogStorageManager storageManager,
                                        CompositeLogTemplateParser parser,
                                        LogExecutorProvider executor,
-                                       LogErrorHandler errorHandler) {
-        return new BizLogManager(storageManager, parser, executor, errorHandler);
+                                       LogErrorHandler errorHandler,
+                                       BizLogProperties prop,
+                                       ObjectProvider<BizLogMetrics> metrics) {
+        return new BizLogManager(storageManager, parser, executor, errorHandler, prop,
+                metrics.getIfAvailable(() -> BizLogMetrics.NOOP));
+    }
+
+    /**
+     * 启动时预编译（static：作为 BeanPostProcessor 不依赖本配置类实例）
+     *
+     * @param manager 日志管理器
+     * @param prop 配置属性
+     * @return 启动时预编译
+     */
+    @Bean
+    @ConditionalOnMissingBean(BizLogPrecompiler.class)
+    @ConditionalOnProperty(prefix = "biz.log.parser.precompile", name = "enabled", havingValue = "true"
+            , matchIfMissing = true)
+    public static BizLogPrecompiler bizLogPrecompiler(ObjectProvider<BizLogManager> manager,
+                                                      ObjectProvider<BizLogProperties> prop) {
+        return new BizLogPrecompiler(manager, prop);
     }
 
 }
@@ -3,6 +3,7 @@ package io.github.renhaowan.bizlog.autoconfigure.configure;
 import io.github.renhaowan.bizlog.core.log.BizLogProperties;
 import io.github.renhaowan.bizlog.core.service.executor.DefaultLogExecutorProvider;
 import io.github.renhaowan.bizlog.core.service.executor.LogExecutorProvider;
+import io.github.renhaowan.bizlog.core.service.executor.VirtualThreadLogExecutorProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +16,7 @@ import org.springframework.context.annotation.Configuration;
 public class LogExecutorConfiguration {
 
     /**
-     * 默认线程池
+     * 默认线程池（biz.log.async.mode = virtual 时使用虚拟线程，JDK 21 以下自动回退为线程池）
      *
      * @param prop 配置属性
      * @return 默认线程池
@@ -23,6 +24,9 @@ public class LogExecutorConfiguration {
     @Bean
     @ConditionalOnMissingBean(LogExecutorProvider.class)
     public LogExecutorProvider logExecutorProvider(BizLogProperties prop) {
+        if (prop.getAsync().getMode() == BizLogProperties.Async.Mode.VIRTUAL) {
+            return new VirtualThreadLogExecutorProvider(prop);
+        }
         return new DefaultLogExecutorProvider(prop);
     }
 }
@@ -0,0 +1,37 @@
+package io.github.renhaowan.bizlog.autoconfigure.configure;
+
+import io.github.renhaowan.bizlog.autoconfigure.metrics.MicrometerBizLogMetrics;
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.service.metrics.BizLogMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author wan
+ * 指标配置类（classpath 中有 Micrometer 时生效）
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnProperty(prefix = "biz.log.metrics", name = "enabled", havingValue = "true"
+        , matchIfMissing = true)
+public class LogMetricsConfiguration {
+
+    /**
+     * 链路指标（容器中没有 MeterRegistry 时不记录）
+     *
+     * @param registry 指标注册表
+     * @param prop 配置属性
+     * @return 链路指标
+     */
+    @Bean
+    @ConditionalOnMissingBean(BizLogMetrics.class)
+    public BizLogMetrics bizLogMetrics(ObjectProvider<MeterRegistry> registry, BizLogProperties prop) {
+        MeterRegistry r = registry.getIfAvailable();
+        return r == null ? BizLogMetrics.NOOP : new MicrometerBizLogMetrics(r, prop.getMetrics());
+    }
+}
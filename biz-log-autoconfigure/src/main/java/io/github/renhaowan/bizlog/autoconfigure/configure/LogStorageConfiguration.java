@@ -5,10 +5,15 @@ import io.github.renhaowan.bizlog.core.log.LogConstant;
 import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
 import io.github.renhaowan.bizlog.core.service.storage.LogStorageManager;
 import io.github.renhaowan.bizlog.core.service.storage.impl.ConsoleLogStorage;
+import io.github.renhaowan.bizlog.core.service.storage.impl.FileLogStorage;
+import io.github.renhaowan.bizlog.core.service.storage.impl.JdbcLogStorage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
 import java.util.List;
 
 /**
@@ -43,6 +48,34 @@ public class LogStorageConfiguration {
                 .build();
     }
 
+    /**
+     * 文件日志存储器（biz.log.storage.file.enabled = true 时启用）
+     *
+     * @param prop 日志配置
+     * @return 文件日志存储器
+     */
+    @Bean(LogConstant.FILE_STORAGE_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "biz.log.storage.file", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean(FileLogStorage.class)
+    public AbstractLogStorage fileLogStorage(BizLogProperties prop) {
+        return new FileLogStorage(prop.getStorage().getFile());
+    }
+
+    /**
+     * 数据库日志存储器（biz.log.storage.jdbc.enabled = true 且存在 DataSource 时启用）
+     *
+     * @param dataSource 数据源
+     * @param prop       日志配置
+     * @return 数据库日志存储器
+     */
+    @Bean(LogConstant.JDBC_STORAGE_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "biz.log.storage.jdbc", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(DataSource.class)
+    @ConditionalOnMissingBean(JdbcLogStorage.class)
+    public AbstractLogStorage jdbcLogStorage(DataSource dataSource, BizLogProperties prop) {
+        return new JdbcLogStorage(dataSource, prop.getStorage().getJdbc());
+    }
+
     /**
      * 默认日志存储器管理器
      *
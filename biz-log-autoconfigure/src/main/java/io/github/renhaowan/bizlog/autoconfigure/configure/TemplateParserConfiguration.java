@@ -4,6 +4,7 @@ import io.github.renhaowan.bizlog.core.log.BizLogProperties;
 import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
 import io.github.renhaowan.bizlog.core.service.parse.impl.CompositeLogTemplateParser;
 import io.github.renhaowan.bizlog.core.service.parse.impl.PlainTextLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.impl.SimplePathLogTemplateParser;
 import io.github.renhaowan.bizlog.core.service.parse.impl.SpelLogTemplateParser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -28,13 +29,14 @@ public class TemplateParserConfiguration {
      * Spel模板解析器
      *
      * @param applicationContext Spring上下文
+     * @param spelExpansionContext Spel表达式上下文
      * @return Spel模板解析器
      */
     @Bean
     @ConditionalOnProperty(prefix = "biz.log.parser", name = "enable-spel", havingValue = "true"
             , matchIfMissing = true)
     public SpelLogTemplateParser spelLogTemplateParser(ApplicationContext applicationContext, SpelLogTemplateParser.SpelExpansionContext spelExpansionContext) {
-        return new SpelLogTemplateParser(applicationContext, spelExpansionContext);
+        return new SpelLogTemplateParser(applicationContext, spelExpansionContext, prop);
     }
 
     /**
@@ -70,4 +72,28 @@ public class TemplateParserConfiguration {
     public CompositeLogTemplateParser compositeLogTemplateParser(List<LogTemplateParser> parsers) {
         return new CompositeLogTemplateParser(parsers, prop);
     }
+
+    /**
+     * 简单属性路径快速通道（依赖 Spel 模板解析器兜底）
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "biz.log.parser.fast-path", name = "enabled", havingValue = "true"
+            , matchIfMissing = true)
+    static class FastPathConfiguration {
+
+        /**
+         * 简单属性路径模板解析器
+         *
+         * @param spelLogTemplateParser Spel模板解析器
+         * @param prop 配置属性
+         * @return 简单属性路径模板解析器
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "biz.log.parser", name = "enable-spel", havingValue = "true"
+                , matchIfMissing = true)
+        public SimplePathLogTemplateParser simplePathLogTemplateParser(SpelLogTemplateParser spelLogTemplateParser,
+                                                                       BizLogProperties prop) {
+            return new SimplePathLogTemplateParser(spelLogTemplateParser, prop);
+        }
+    }
 }
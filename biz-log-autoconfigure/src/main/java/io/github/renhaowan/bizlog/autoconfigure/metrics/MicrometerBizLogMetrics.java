@@ -0,0 +1,136 @@
+package io.github.renhaowan.bizlog.autoconfigure.metrics;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.service.BizLogManager;
+import io.github.renhaowan.bizlog.core.service.executor.LogDispatchStats;
+import io.github.renhaowan.bizlog.core.service.metrics.BizLogMetrics;
+import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * @author wan
+ * 基于 Micrometer 的链路指标
+ * <ul>
+ *     <li>biz.log.aspect：切面开销（计时器）</li>
+ *     <li>biz.log.parse：模板解析耗时，标签 parser 为解析器类名（计时器）</li>
+ *     <li>biz.log.queue.wait：异步日志的队列等待时间（计时器）</li>
+ *     <li>biz.log.store：存储器写入耗时，标签 storage、outcome（计时器）</li>
+ *     <li>biz.log.queue.size / biz.log.executor.active：异步队列长度、日志线程池活跃线程数（仪表）</li>
+ *     <li>biz.log.errors：交给 LogErrorHandler 的错误数，标签 exception（计数器）</li>
+ *     <li>biz.log.dispatch：异步入队结果，标签 outcome = accepted / dropped / caller_runs / fallback（计数器）</li>
+ * </ul>
+ * 计时器按标签缓存，记录时不再构建 Meter.Id
+ */
+public class MicrometerBizLogMetrics implements BizLogMetrics {
+
+    private final MeterRegistry registry;
+    private final boolean percentileHistogram;
+    private final Timer aspectTimer;
+    private final Timer queueWaitTimer;
+    private final Map<Class<?>, Timer> parseTimers = new ConcurrentHashMap<>();
+    // 存储器名称 -> [成功, 失败]
+    private final Map<String, Timer[]> storeTimers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry 指标注册表
+     * @param metrics  指标配置
+     */
+    public MicrometerBizLogMetrics(MeterRegistry registry, BizLogProperties.Metrics metrics) {
+        this.registry = registry;
+        this.percentileHistogram = metrics.isPercentileHistogram();
+        this.aspectTimer = timer("biz.log.aspect", "切面开销（不含业务方法）").register(registry);
+        this.queueWaitTimer = timer("biz.log.queue.wait", "异步日志从入队到被取出的等待时间").register(registry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void bind(BizLogManager manager) {
+        gauge("biz.log.queue.size", "异步队列中待处理的日志数", manager, BizLogManager::getQueueSize);
+        gauge("biz.log.executor.active", "日志线程池活跃线程数", manager, BizLogManager::getActiveThreads);
+        LogDispatchStats stats = manager.getDispatchStats();
+        dispatchCounter(stats, "accepted", LogDispatchStats::getAccepted);
+        dispatchCounter(stats, "dropped", LogDispatchStats::getDropped);
+        dispatchCounter(stats, "caller_runs", LogDispatchStats::getCallerRuns);
+        dispatchCounter(stats, "fallback", LogDispatchStats::getFallbacks);
+    }
+
+    @Override
+    public void recordAspect(long nanos) {
+        aspectTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordParse(LogTemplateParser parser, long nanos) {
+        parseTimers.computeIfAbsent(parser.getClass(), c -> timer("biz.log.parse", "模板解析耗时")
+                        .tag("parser", c.getSimpleName())
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordQueueWait(long nanos) {
+        queueWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordStore(String beanName, long nanos, boolean success) {
+        Timer[] timers = storeTimers.computeIfAbsent(beanName, name -> new Timer[]{
+                storeTimer(name, "success"), storeTimer(name, "error")});
+        timers[success ? 0 : 1].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onError(BizLogRecord record, Throwable ex) {
+        errorCounters.computeIfAbsent(ex.getClass(), c -> Counter.builder("biz.log.errors")
+                        .description("交给 LogErrorHandler 的错误数")
+                        .tag("exception", c.getSimpleName())
+                        .register(registry))
+                .increment();
+    }
+
+    private Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram(percentileHistogram);
+    }
+
+    private Timer storeTimer(String beanName, String outcome) {
+        return timer("biz.log.store", "存储器写入耗时（单条或整批）")
+                .tag("storage", beanName)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // 无法获取时（返回 -1）记为 NaN
+    private void gauge(String name, String description, BizLogManager manager, ToDoubleFunction<BizLogManager> f) {
+        Gauge.builder(name, manager, m -> {
+                    double v = f.applyAsDouble(m);
+                    return v < 0 ? Double.NaN : v;
+                })
+                .description(description)
+                .register(registry);
+    }
+
+    private void dispatchCounter(LogDispatchStats stats, String outcome, ToLongFunction<LogDispatchStats> f) {
+        FunctionCounter.builder("biz.log.dispatch", stats, s -> f.applyAsLong(s))
+                .description("异步入队结果")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
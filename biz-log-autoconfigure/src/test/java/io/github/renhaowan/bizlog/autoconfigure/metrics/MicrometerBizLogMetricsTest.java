@@ -0,0 +1,146 @@
+package io.github.renhaowan.bizlog.autoconfigure.metrics;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.service.BizLogManager;
+import io.github.renhaowan.bizlog.core.service.executor.LogDispatchStats;
+import io.github.renhaowan.bizlog.core.service.parse.impl.PlainTextLogTemplateParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author wan
+ * Micrometer 指标测试：计时器、仪表和计数器的名称、标签与取值
+ */
+class MicrometerBizLogMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MicrometerBizLogMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerBizLogMetrics(registry, new BizLogProperties.Metrics());
+    }
+
+    @Test
+    void recordsAspectAndQueueWaitTimers() {
+        assertTrue(metrics.isEnabled());
+
+        metrics.recordAspect(1_000);
+        metrics.recordAspect(3_000);
+        metrics.recordQueueWait(5_000_000);
+
+        Timer aspect = registry.get("biz.log.aspect").timer();
+        assertEquals(2, aspect.count());
+        assertEquals(4_000, aspect.totalTime(TimeUnit.NANOSECONDS), 0.1);
+        assertEquals(3_000, aspect.max(TimeUnit.NANOSECONDS), 0.1);
+        Timer queueWait = registry.get("biz.log.queue.wait").timer();
+        assertEquals(1, queueWait.count());
+        assertEquals(5, queueWait.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void parseTimerIsTaggedWithParserClass() {
+        PlainTextLogTemplateParser parser = new PlainTextLogTemplateParser();
+
+        metrics.recordParse(parser, 200);
+        metrics.recordParse(parser, 400);
+
+        Timer timer = registry.get("biz.log.parse").tag("parser", "PlainTextLogTemplateParser").timer();
+        assertEquals(2, timer.count());
+        assertEquals(600, timer.totalTime(TimeUnit.NANOSECONDS), 0.1);
+        // 同一解析器复用同一个计时器
+        assertEquals(1, registry.find("biz.log.parse").timers().size());
+    }
+
+    @Test
+    void storeTimersAreSplitByStorageAndOutcome() {
+        metrics.recordStore("jdbcLogStorage", 1_000, true);
+        metrics.recordStore("jdbcLogStorage", 2_000, true);
+        metrics.recordStore("jdbcLogStorage", 7_000, false);
+        metrics.recordStore("fileLogStorage", 4_000, true);
+
+        Timer jdbcSuccess = registry.get("biz.log.store").tags("storage", "jdbcLogStorage", "outcome", "success").timer();
+        assertEquals(2, jdbcSuccess.count());
+        assertEquals(3_000, jdbcSuccess.totalTime(TimeUnit.NANOSECONDS), 0.1);
+        Timer jdbcError = registry.get("biz.log.store").tags("storage", "jdbcLogStorage", "outcome", "error").timer();
+        assertEquals(1, jdbcError.count());
+        assertEquals(7_000, jdbcError.totalTime(TimeUnit.NANOSECONDS), 0.1);
+        assertEquals(1, registry.get("biz.log.store").tags("storage", "fileLogStorage", "outcome", "success").timer().count());
+        // 每个存储器一次注册成功、失败两个计时器
+        assertEquals(4, registry.find("biz.log.store").timers().size());
+    }
+
+    @Test
+    void errorsAreCountedByExceptionType() {
+        metrics.onError(null, new IllegalStateException("a"));
+        metrics.onError(null, new IllegalStateException("b"));
+        metrics.onError(null, new IllegalArgumentException("c"));
+
+        Counter illegalState = registry.get("biz.log.errors").tag("exception", "IllegalStateException").counter();
+        assertEquals(2, illegalState.count());
+        Counter illegalArgument = registry.get("biz.log.errors").tag("exception", "IllegalArgumentException").counter();
+        assertEquals(1, illegalArgument.count());
+    }
+
+    @Test
+    void bindRegistersGaugesAndDispatchCounters() {
+        LogDispatchStats stats = new LogDispatchStats();
+        BizLogManager manager = mock(BizLogManager.class);
+        when(manager.getDispatchStats()).thenReturn(stats);
+        when(manager.getQueueSize()).thenReturn(12);
+        when(manager.getActiveThreads()).thenReturn(-1);
+
+        metrics.bind(manager);
+        stats.onAccepted();
+        stats.onAccepted();
+        stats.onAccepted();
+        stats.onDropped();
+        stats.onCallerRuns();
+        stats.onFallback();
+        stats.onFallback();
+
+        Gauge queueSize = registry.get("biz.log.queue.size").gauge();
+        assertEquals(12, queueSize.value());
+        // 无法获取时为 NaN
+        assertTrue(Double.isNaN(registry.get("biz.log.executor.active").gauge().value()));
+        when(manager.getQueueSize()).thenReturn(3);
+        assertEquals(3, queueSize.value());
+
+        assertEquals(3, dispatch("accepted").count());
+        assertEquals(1, dispatch("dropped").count());
+        assertEquals(1, dispatch("caller_runs").count());
+        assertEquals(2, dispatch("fallback").count());
+    }
+
+    @Test
+    void gaugesAndDispatchCountersAreRegisteredOnBind() {
+        // 构造时只注册两个计时器
+        assertEquals(2, registry.getMeters().size());
+        assertNull(registry.find("biz.log.queue.size").gauge());
+        assertNull(registry.find("biz.log.dispatch").functionCounter());
+
+        BizLogManager manager = mock(BizLogManager.class);
+        when(manager.getDispatchStats()).thenReturn(new LogDispatchStats());
+        metrics.bind(manager);
+
+        assertEquals(2 + 2 + 4, registry.getMeters().size());
+    }
+
+    private FunctionCounter dispatch(String outcome) {
+        return registry.get("biz.log.dispatch").tag("outcome", outcome).functionCounter();
+    }
+}
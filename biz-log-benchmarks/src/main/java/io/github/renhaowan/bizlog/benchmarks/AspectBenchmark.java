@@ -0,0 +1,92 @@
+package io.github.renhaowan.bizlog.benchmarks;
+
+import io.github.renhaowan.bizlog.core.log.annotation.BizLog;
+import io.github.renhaowan.bizlog.core.service.BizLogAspect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 切面开销：同一方法直接调用、经过代理但未标注、标注 @BizLog 后同步记录（纯文本 / SpEL 模板）、异步记录
+ * <p>存储器只计数，差值即为代理和切面本身的开销</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AspectBenchmark {
+
+    private BenchmarkSupport.Fixture fixture;
+    private OrderService target;
+    private OrderService proxy;
+
+    @Setup
+    public void setup() {
+        fixture = BenchmarkSupport.manager(BenchmarkSupport.properties(), new NoopLogStorage());
+        target = new OrderService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new BizLogAspect(fixture.manager, Map::of));
+        proxy = factory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public long baseline() {
+        return target.plain(42L, "alice");
+    }
+
+    @Benchmark
+    public long proxiedUnannotated() {
+        return proxy.unannotated(42L, "alice");
+    }
+
+    @Benchmark
+    public long advisedPlain() {
+        return proxy.plain(42L, "alice");
+    }
+
+    @Benchmark
+    public long advisedSpel() {
+        return proxy.spel(42L, "alice");
+    }
+
+    @Benchmark
+    public long advisedAsync() {
+        return proxy.async(42L, "alice");
+    }
+
+    /**
+     * 被拦截的业务方法
+     */
+    public static class OrderService {
+
+        public long unannotated(long orderId, String user) {
+            return orderId + user.length();
+        }
+
+        @BizLog(value = "创建订单", actionCode = "CREATE", async = false)
+        public long plain(long orderId, String user) {
+            return orderId + user.length();
+        }
+
+        @BizLog(value = "用户 #{#user} 创建订单 #{#orderId}", actionCode = "CREATE", async = false)
+        public long spel(long orderId, String user) {
+            return orderId + user.length();
+        }
+
+        @BizLog(value = "用户 #{#user} 创建订单 #{#orderId}", actionCode = "CREATE")
+        public long async(long orderId, String user) {
+            return orderId + user.length();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.renhaowan.bizlog.benchmarks;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.service.BizLogManager;
+import io.github.renhaowan.bizlog.core.service.executor.DefaultLogExecutorProvider;
+import io.github.renhaowan.bizlog.core.service.parse.impl.CompositeLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.impl.PlainTextLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.impl.SimplePathLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.impl.SpelLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.storage.LogStorageManager;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.List;
+
+/**
+ * @author wan
+ * 基准测试公共组件：按自动配置的方式手动组装，不启动 Spring 容器
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * @return 默认配置，默认存储器为 {@link NoopLogStorage}
+     */
+    static BizLogProperties properties() {
+        BizLogProperties prop = new BizLogProperties();
+        prop.setStorageBeanName(new String[]{NoopLogStorage.BEAN_NAME});
+        return prop;
+    }
+
+    /**
+     * @param prop 配置属性
+     * @return SpEL 解析器
+     */
+    static SpelLogTemplateParser spelParser(BizLogProperties prop) {
+        return new SpelLogTemplateParser(new StaticApplicationContext(), ec -> {
+        }, prop);
+    }
+
+    /**
+     * @param prop 配置属性
+     * @return 与自动配置相同顺序的责任链：简单属性路径 -> SpEL -> 纯文本
+     */
+    static CompositeLogTemplateParser compositeParser(BizLogProperties prop) {
+        SpelLogTemplateParser spel = spelParser(prop);
+        return new CompositeLogTemplateParser(List.of(
+                new SimplePathLogTemplateParser(spel, prop), spel, new PlainTextLogTemplateParser()), prop);
+    }
+
+    /**
+     * 日志管理器（使用默认线程池），用完后调用 {@link Fixture#close()}
+     *
+     * @param prop    配置属性
+     * @param storage 存储器
+     * @return 日志管理器及其线程池
+     */
+    static Fixture manager(BizLogProperties prop, NoopLogStorage storage) {
+        DefaultLogExecutorProvider executor = new DefaultLogExecutorProvider(prop);
+        BizLogManager manager = new BizLogManager(new LogStorageManager(List.of(storage), prop),
+                compositeParser(prop), executor, (record, e) -> {
+        }, prop);
+        manager.afterPropertiesSet();
+        return new Fixture(manager, executor);
+    }
+
+    /**
+     * 日志管理器及其线程池
+     */
+    static final class Fixture {
+        final BizLogManager manager;
+        private final DefaultLogExecutorProvider executor;
+
+        Fixture(BizLogManager manager, DefaultLogExecutorProvider executor) {
+            this.manager = manager;
+            this.executor = executor;
+        }
+
+        void close() {
+            manager.destroy();
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.renhaowan.bizlog.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.service.codec.BizLogRecordCodec;
+import io.github.renhaowan.bizlog.core.service.codec.RecordDecoder;
+import io.github.renhaowan.bizlog.core.service.codec.RecordEncoder;
+import io.github.renhaowan.bizlog.core.service.error.ThrowableSummary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 二进制编解码与 JSON（Jackson）的对比：单条记录，以及一批记录写成一条流（字典跨记录复用）
+ * <p>JSON 侧先把记录转成 {@link JsonRecord} 再序列化，反序列化后再转回 {@link BizLogRecord}，与二进制编解码的输入输出一致；
+ * JSON 不保留 extra 的值类型（long 读回 int、BigDecimal 读回 double）</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    /**
+     * 一条流中的记录数
+     */
+    @Param({"1", "100"})
+    public int batch;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final RecordEncoder encoder = new RecordEncoder();
+
+    private List<BizLogRecord> records;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        records = new ArrayList<>(batch);
+        LocalDateTime time = LocalDateTime.of(2025, 6, 1, 12, 0);
+        for (int i = 0; i < batch; i++) {
+            Map<String, Object> extra = new LinkedHashMap<>();
+            extra.put("orderId", 1001L + i);
+            extra.put("operator", "alice");
+            extra.put("ip", "10.0.0.1");
+            extra.put("amount", new BigDecimal("99.90"));
+            extra.put("paid", i % 2 == 0);
+            records.add(BizLogRecord.builder()
+                    .action(BizActions.of("UPDATE"))
+                    .content("用户 alice 修改了订单 " + (1001 + i) + "，收货城市 杭州")
+                    .time(time.plusSeconds(i))
+                    .throwable(i % 10 == 0 ? new IllegalStateException("库存不足") : null)
+                    .extra(extra)
+                    .build());
+        }
+        binary = encodeBinary();
+        json = encodeJson();
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        encoder.reset();
+        for (BizLogRecord record : records) {
+            encoder.writeRecord(record);
+        }
+        return encoder.toByteArray();
+    }
+
+    @Benchmark
+    public void decodeBinary(Blackhole bh) {
+        RecordDecoder decoder = new RecordDecoder(ByteBuffer.wrap(binary));
+        while (decoder.hasRemaining()) {
+            bh.consume(decoder.readRecord());
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        JsonRecord[] out = new JsonRecord[records.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = JsonRecord.of(records.get(i));
+        }
+        return mapper.writeValueAsBytes(out);
+    }
+
+    @Benchmark
+    public void decodeJson(Blackhole bh) throws IOException {
+        for (JsonRecord record : mapper.readValue(json, JsonRecord[].class)) {
+            bh.consume(record.toRecord());
+        }
+    }
+
+    /**
+     * 单条记录独立编码（{@link BizLogRecordCodec#encode}，不跨记录复用字典）
+     */
+    @Benchmark
+    public void encodeBinaryStandalone(Blackhole bh) {
+        for (BizLogRecord record : records) {
+            bh.consume(BizLogRecordCodec.encode(record));
+        }
+    }
+
+    /**
+     * 编码结果大小只需看一次，不计入耗时
+     */
+    @TearDown
+    public void report() {
+        System.out.printf("%n[batch=%d] binary %d bytes, json %d bytes%n", batch, binary.length, json.length);
+    }
+
+    /**
+     * JSON 侧的记录结构
+     */
+    public static class JsonRecord {
+        public String action;
+        public String content;
+        public LocalDateTime time;
+        public String throwableClass;
+        public String throwableMessage;
+        public Map<String, Object> extra;
+
+        static JsonRecord of(BizLogRecord record) {
+            JsonRecord r = new JsonRecord();
+            r.action = record.getAction() == null ? null : record.getAction().getCode();
+            r.content = record.getContent();
+            r.time = record.getTime();
+            Throwable thrown = record.getThrowable();
+            if (thrown != null) {
+                r.throwableClass = thrown.getClass().getName();
+                r.throwableMessage = thrown.getMessage();
+            }
+            r.extra = record.getExtra();
+            return r;
+        }
+
+        BizLogRecord toRecord() {
+            return BizLogRecord.builder()
+                    .action(action == null ? null : BizActions.ofOrPlaceholder(action))
+                    .content(content)
+                    .time(time)
+                    .throwable(throwableClass == null ? null : new ThrowableSummary(throwableClass, throwableMessage))
+                    .extra(extra)
+                    .build();
+        }
+    }
+}
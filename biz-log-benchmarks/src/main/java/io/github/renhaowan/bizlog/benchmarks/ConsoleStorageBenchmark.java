@@ -0,0 +1,61 @@
+package io.github.renhaowan.bizlog.benchmarks;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.service.storage.impl.ConsoleLogStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 控制台存储器格式化开销（拼接文本 / 键值对）
+ * <p>logback.xml 中 biz-log 的级别为 INFO 且没有 appender：INFO 为格式化 + 日志框架开销，DEBUG 为级别未开启时的开销</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsoleStorageBenchmark {
+
+    /**
+     * 存储器配置的日志级别
+     */
+    @Param({"INFO", "DEBUG"})
+    public String level;
+
+    /**
+     * 是否以键值对输出
+     */
+    @Param({"false", "true"})
+    public boolean structured;
+
+    private ConsoleLogStorage storage;
+    private BizLogRecord record;
+
+    @Setup
+    public void setup() {
+        storage = new ConsoleLogStorage(ConsoleLogStorage.ConsoleLogConfig.builder().logLevel(level).structured(structured).build());
+        storage.setBeanName("consoleLogStorage");
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("orderId", 1001L);
+        extra.put("operator", "alice");
+        extra.put("ip", "10.0.0.1");
+        record = BizLogRecord.builder()
+                .action(BizActions.of("UPDATE"))
+                .content("用户 alice 修改了订单 1001，收货城市 杭州")
+                .extra(extra)
+                .time(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public void store() {
+        storage.doStore(record);
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.renhaowan.bizlog.benchmarks;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author wan
+ * 只计数的存储器：排除存储本身的开销
+ */
+public class NoopLogStorage extends AbstractLogStorage {
+
+    /**
+     * 存储器名称
+     */
+    public static final String BEAN_NAME = "noopLogStorage";
+
+    private final LongAdder stored = new LongAdder();
+
+    public NoopLogStorage() {
+        setBeanName(BEAN_NAME);
+    }
+
+    @Override
+    public void store(BizLogRecord records) {
+        stored.increment();
+    }
+
+    @Override
+    protected boolean shouldStoreWhenException(Throwable ex) {
+        return true;
+    }
+
+    @Override
+    protected void handleException(Throwable ex) {
+        // do nothing
+    }
+
+    /**
+     * @return 已存储的日志数
+     */
+    public long getStored() {
+        return stored.sum();
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.renhaowan.bizlog.benchmarks;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.service.parse.ArgumentBinding;
+import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
+import io.github.renhaowan.bizlog.core.service.parse.impl.CompositeLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.impl.PlainTextLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.impl.SpelLogTemplateParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 模板解析：纯文本解析器、SpEL 解析器、自动配置的责任链（简单属性路径 -> SpEL -> 纯文本）在不同复杂度模板下的耗时
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    /**
+     * 模板复杂度
+     */
+    @Param({"PLAIN", "PROPERTY", "NESTED", "EXPRESSION"})
+    public String complexity;
+
+    private static final Map<String, String> TEMPLATES = Map.of(
+            "PLAIN", "用户登录系统",
+            "PROPERTY", "用户 #{#user.name} 登录系统",
+            "NESTED", "用户 #{#user.name} 修改了订单 #{#order.id}，收货城市 #{#order.address.city}",
+            "EXPRESSION", "用户 #{#user.name} 下单 #{#order.items.size()} 件，#{#order.amount > 100 ? '大额' : '普通'}订单");
+
+    private String template;
+    private ParseContext ctx;
+    private PlainTextLogTemplateParser plain;
+    private SpelLogTemplateParser spel;
+    private CompositeLogTemplateParser composite;
+
+    @Setup
+    public void setup() {
+        template = TEMPLATES.get(complexity);
+        // 与切面相同：实参数组 + 参数对应表
+        ctx = ParseContext.builder()
+                .binding(ArgumentBinding.of(new String[]{"user", "order"}))
+                .argValues(new Object[]{new User("alice"),
+                        new Order(1001L, new BigDecimal("128.50"), new Address("杭州"), List.of("book", "pen"))})
+                .extra(new HashMap<>())
+                .build();
+        BizLogProperties prop = BenchmarkSupport.properties();
+        plain = new PlainTextLogTemplateParser();
+        spel = BenchmarkSupport.spelParser(prop);
+        composite = BenchmarkSupport.compositeParser(prop);
+    }
+
+    @Benchmark
+    public String plainText() {
+        return plain.parse(template, ctx);
+    }
+
+    @Benchmark
+    public String spel() {
+        return spel.parse(template, ctx);
+    }
+
+    @Benchmark
+    public String composite() {
+        return composite.parse(template, ctx);
+    }
+
+    public static class User {
+        private final String name;
+
+        public User(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class Address {
+        private final String city;
+
+        public Address(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+
+    public static class Order {
+        private final Long id;
+        private final BigDecimal amount;
+        private final Address address;
+        private final List<String> items;
+
+        public Order(Long id, BigDecimal amount, Address address, List<String> items) {
+            this.id = id;
+            this.amount = amount;
+            this.address = address;
+            this.items = items;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.renhaowan.bizlog.benchmarks;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * BizLogManager.recordAsync 在 1 / 8 / 32 个生产者线程下的吞吐量
+ * <p>使用默认线程池配置，队列满时由调用方执行（与线上行为一致）；存储器只计数</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordAsyncBenchmark {
+
+    private BenchmarkSupport.Fixture fixture;
+    private BizLogRecord record;
+
+    @Setup
+    public void setup() {
+        fixture = BenchmarkSupport.manager(BenchmarkSupport.properties(), new NoopLogStorage());
+        record = BizLogRecord.builder()
+                .action(BizActions.of("CREATE"))
+                .content("用户 alice 创建订单 1001")
+                .time(LocalDateTime.now())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CompletableFuture<Void> threads1() {
+        return fixture.manager.recordAsync(record);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public CompletableFuture<Void> threads8() {
+        return fixture.manager.recordAsync(record);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public CompletableFuture<Void> threads32() {
+        return fixture.manager.recordAsync(record);
+    }
+}
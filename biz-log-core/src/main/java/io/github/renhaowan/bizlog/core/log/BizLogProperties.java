@@ -1,7 +1,16 @@
 package io.github.renhaowan.bizlog.core.log;
 
+import io.github.renhaowan.bizlog.core.service.executor.OverflowPolicy;
+import io.github.renhaowan.bizlog.core.service.executor.WaitStrategy;
+import io.github.renhaowan.bizlog.core.service.parse.SnapshotStrategy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * BizLog 配置属性类
@@ -30,16 +39,366 @@ public class BizLogProperties {
      */
     private String[] storageBeanName = new String[]{LogConstant.DEFAULT_STORAGE_BEAN_NAME};
 
+    /**
+     * 内置存储器参数配置
+     */
+    private final Storage storage = new Storage();
+
     /**
      * 异步线程池参数配置
      */
     private final Async async = new Async();
 
+    /**
+     * 同步记录参数配置
+     */
+    private final Sync sync = new Sync();
+
+    /**
+     * 存储器路由规则配置
+     */
+    private final Routing routing = new Routing();
+
+    /**
+     * 采样与限流配置
+     */
+    private final Sampling sampling = new Sampling();
+
+    /**
+     * 重复日志聚合配置
+     */
+    private final Aggregation aggregation = new Aggregation();
+
+    /**
+     * 指标配置
+     */
+    private final Metrics metrics = new Metrics();
+
     /**
      * 模板解析器参数配置
      */
     private final Parser parser = new Parser();
 
+    /**
+     * 内置存储器参数配置类
+     */
+    @Data
+    public static class Storage {
+        /**
+         * 文件存储器参数配置
+         */
+        private final File file = new File();
+
+        /**
+         * 数据库存储器参数配置
+         */
+        private final Jdbc jdbc = new Jdbc();
+
+        /**
+         * 数据库存储器参数配置类
+         */
+        @Data
+        public static class Jdbc {
+            /**
+             * 是否启用数据库存储器（Bean 名称：jdbcLogStorage，需要容器中存在 DataSource）
+             * <p>默认值：false</p>
+             */
+            private boolean enabled = false;
+
+            /**
+             * 表名
+             * <p>默认值："biz_log"</p>
+             */
+            private String tableName = "biz_log";
+
+            /**
+             * 启动时是否建表（CREATE TABLE IF NOT EXISTS）
+             * <p>默认值：false</p>
+             */
+            private boolean initSchema = false;
+
+            /**
+             * 单条 INSERT 语句包含的行数（多行 VALUES）
+             * <p>默认值：50</p>
+             */
+            private int rowsPerStatement = 50;
+
+            /**
+             * 每次提交（executeBatch + commit）的最大行数
+             * <p>默认值：500</p>
+             */
+            private int batchSize = 500;
+
+            /**
+             * 单条存储时攒批的最长等待时间（单位：毫秒），小于等于 0 表示每条日志直接写库
+             * <p>默认值：200</p>
+             */
+            private long flushIntervalMs = 200;
+
+            /**
+             * 单条存储时攒批的队列容量，队列已满时由记录线程直接写库
+             * <p>默认值：10000</p>
+             */
+            private int queueCapacity = 10000;
+        }
+
+        /**
+         * 文件存储器参数配置类
+         */
+        @Data
+        public static class File {
+            /**
+             * 是否启用文件存储器（Bean 名称：fileLogStorage）
+             * <p>默认值：false</p>
+             */
+            private boolean enabled = false;
+
+            /**
+             * 日志文件目录
+             * <p>默认值："logs"</p>
+             */
+            private String dir = "logs";
+
+            /**
+             * 日志文件名前缀，文件名格式：前缀-时间段.序号.log
+             * <p>默认值："biz-log"</p>
+             */
+            private String fileName = "biz-log";
+
+            /**
+             * 按时间滚动的时间段格式（DateTimeFormatter 格式），格式化结果变化时滚动到新文件
+             * <p>如 yyyyMMdd 按天滚动，yyyyMMddHH 按小时滚动</p>
+             * <p>默认值："yyyyMMdd"</p>
+             */
+            private String timePattern = "yyyyMMdd";
+
+            /**
+             * 单个文件最大大小（单位：MB），超出后滚动到同一时间段的下一个序号
+             * <p>默认值：128</p>
+             */
+            private int maxFileSizeMb = 128;
+
+            /**
+             * 日志文件保留天数，滚动时删除更早的文件；小于等于 0 表示不清理
+             * <p>默认值：7</p>
+             */
+            private int maxHistoryDays = 7;
+
+            /**
+             * 单个直接内存缓冲区大小（单位：KB），写满即交给写线程
+             * <p>默认值：256</p>
+             */
+            private int bufferSizeKb = 256;
+
+            /**
+             * 缓冲区个数，全部在写入中时记录线程等待
+             * <p>默认值：4</p>
+             */
+            private int buffers = 4;
+
+            /**
+             * 缓冲区未写满时最多等待的时间（单位：毫秒），到期后写入文件
+             * <p>默认值：100</p>
+             */
+            private long flushIntervalMs = 100;
+
+            /**
+             * 每次写入后是否刷盘（fsync）
+             * <p>默认值：false</p>
+             */
+            private boolean forceOnFlush = false;
+
+            /**
+             * 文件格式：text（一条日志一行）/ binary（二进制编码，体积更小，可用 FileLogStorage#readBinary 读取）
+             * <p>默认值：text</p>
+             */
+            private Format format = Format.TEXT;
+
+            /**
+             * 文件格式
+             */
+            public enum Format {
+                /**
+                 * 文本
+                 */
+                TEXT,
+
+                /**
+                 * 二进制
+                 */
+                BINARY
+            }
+        }
+    }
+
+    /**
+     * 指标配置类
+     * <p>classpath 中有 Micrometer 且容器中有 MeterRegistry 时生效</p>
+     */
+    @Data
+    public static class Metrics {
+        /**
+         * 是否启用指标
+         * <p>默认值：true</p>
+         */
+        private boolean enabled = true;
+
+        /**
+         * 计时器是否发布百分位直方图（用于在监控系统中计算 p99 等分位数）
+         * <p>默认值：false</p>
+         */
+        private boolean percentileHistogram = false;
+    }
+
+    /**
+     * 重复日志聚合配置类
+     * <p>时间窗口内动作、内容、目标存储器和指定 extra 都相同的日志合并为一条，extra 中附加 count、firstTime、lastTime</p>
+     * <p>只聚合异步日志；开启预写日志时，需要预写的动作（biz.log.async.wal.actions）不聚合</p>
+     */
+    @Data
+    public static class Aggregation {
+        /**
+         * 是否启用聚合
+         * <p>默认值：false</p>
+         */
+        private boolean enabled = false;
+
+        /**
+         * 聚合窗口（单位：毫秒），从窗口内第一条日志开始计时，窗口结束时写入合并后的日志
+         * <p>默认值：5000</p>
+         */
+        private long windowMs = 5000;
+
+        /**
+         * 同时聚合的最大 key 数，超出后新 key 的日志不聚合、直接写入
+         * <p>默认值：10000</p>
+         */
+        private int maxKeys = 10000;
+
+        /**
+         * 需要聚合的动作编码，为空表示所有动作
+         */
+        private List<String> actions = new ArrayList<>();
+
+        /**
+         * 参与聚合 key 的 extra 字段（值不同的日志不合并），为空表示只按动作、内容和目标存储器
+         */
+        private List<String> keyExtras = new ArrayList<>();
+    }
+
+    /**
+     * 采样与限流配置类
+     * <p>在切面中、构建解析上下文和解析模板之前判断，未通过的日志几乎没有开销</p>
+     */
+    @Data
+    public static class Sampling {
+        /**
+         * 有异常的日志是否不受采样和限流影响
+         * <p>默认值：true</p>
+         */
+        private boolean keepErrors = true;
+
+        /**
+         * 按动作编码配置采样率和限流，未配置的动作全部记录
+         * <p>如 QUERY: {ratio: 0.01, rate-per-second: 100}</p>
+         */
+        private Map<String, Action> actions = new HashMap<>();
+
+        /**
+         * 单个动作的采样与限流参数
+         */
+        @Data
+        public static class Action {
+            /**
+             * 采样率（0 ~ 1），1 表示全部记录
+             * <p>默认值：1.0</p>
+             */
+            private double ratio = 1.0;
+
+            /**
+             * 每秒最多记录的条数（令牌桶），小于等于 0 表示不限流
+             * <p>默认值：0</p>
+             */
+            private double ratePerSecond = 0;
+
+            /**
+             * 令牌桶容量（允许的突发条数），小于等于 0 时为 max(1, ratePerSecond)
+             * <p>默认值：0</p>
+             */
+            private int burst = 0;
+        }
+    }
+
+    /**
+     * 存储器路由规则配置类
+     * <p>注解未指定 storageBeanName 时，按规则顺序选择第一条匹配的规则；都不匹配时使用默认存储器</p>
+     */
+    @Data
+    public static class Routing {
+        /**
+         * 路由规则（启动时按动作编码编译为路由表）
+         */
+        private List<Rule> rules = new ArrayList<>();
+
+        /**
+         * 路由规则：各条件同时满足时匹配，未设置的条件不限制
+         */
+        @Data
+        public static class Rule {
+            /**
+             * 动作编码，为空表示任意动作
+             */
+            private List<String> actions = new ArrayList<>();
+
+            /**
+             * 是否有异常：true 只匹配有异常的日志，false 只匹配无异常的日志，不设置表示不限制
+             */
+            private Boolean exception;
+
+            /**
+             * extra 条件：key -> 期望值（按字符串比较），值为空或 "*" 表示只要求 key 存在
+             */
+            private Map<String, String> extra = new HashMap<>();
+
+            /**
+             * 匹配时使用的存储器 Bean 名称
+             */
+            private String[] storageBeanName = new String[0];
+        }
+    }
+
+    /**
+     * 同步记录参数配置类
+     */
+    @Data
+    public static class Sync {
+        /**
+         * 是否并行写入多个存储器
+         * <p>启用后同步日志指定多个存储器时并行写入，耗时为最慢的存储器而不是各存储器之和；
+         * 各存储器的失败和超时汇总为一个 StorageFanOutException 交给错误处理器</p>
+         * <p>默认值：false</p>
+         */
+        private boolean parallel = false;
+
+        /**
+         * 单个存储器的写入超时时间（单位：毫秒），超时后不再等待并取消（中断）该写入
+         * <p>默认值：1000</p>
+         */
+        private long timeoutMs = 1000;
+
+        /**
+         * 按存储器 Bean 名称指定写入超时时间，优先于 timeoutMs
+         * <p>如 jdbcLogStorage: 3000</p>
+         */
+        private Map<String, Long> storageTimeoutMs = new HashMap<>();
+
+        /**
+         * 并行写入的最大线程数，线程和队列都已满时拒绝写入，计入 StorageFanOutException 的失败
+         * <p>默认值：16</p>
+         */
+        private int parallelism = 16;
+    }
+
     /**
      * 异步线程池参数配置类
      */
@@ -74,6 +433,319 @@ public class BizLogProperties {
          * <p>默认值：30</p>
          */
         private int awaitTermination = 30;
+
+        /**
+         * 异步引擎
+         * <p>executor：每条日志提交一个任务到线程池；ring-buffer：写入环形缓冲区由消费者线程批量处理；
+         * virtual：每条日志一个虚拟线程（JDK 21+，低版本回退为线程池），适合 JDBC、HTTP 等阻塞型存储器</p>
+         * <p>默认值：executor</p>
+         */
+        private Mode mode = Mode.EXECUTOR;
+
+        /**
+         * 环形缓冲区参数配置（mode = ring-buffer 时生效）
+         */
+        private final RingBuffer ringBuffer = new RingBuffer();
+
+        /**
+         * 虚拟线程参数配置（mode = virtual 时生效）
+         */
+        private final Virtual virtual = new Virtual();
+
+        /**
+         * 队列溢出策略配置（线程池与环形缓冲区通用）
+         */
+        private final Overflow overflow = new Overflow();
+
+        /**
+         * 延迟渲染配置：异步记录时模板解析也放到异步线程
+         */
+        private final DeferredRender deferredRender = new DeferredRender();
+
+        /**
+         * 预写日志配置：异步日志入队前先追加到本地内存映射文件，进程崩溃后重放
+         */
+        private final Wal wal = new Wal();
+
+        /**
+         * 存储器隔离配置：每个存储器独立的有界队列和写线程，慢存储器不拖累其他存储器
+         */
+        private final Isolation isolation = new Isolation();
+
+        /**
+         * 日志记录对象池配置：注解异步记录的日志记录和 extra 从池中借出，所有存储器写完后归还
+         */
+        private final Pool pool = new Pool();
+
+        /**
+         * 异步引擎类型
+         */
+        public enum Mode {
+            /**
+             * 线程池
+             */
+            EXECUTOR,
+
+            /**
+             * 环形缓冲区
+             */
+            RING_BUFFER,
+
+            /**
+             * 虚拟线程
+             */
+            VIRTUAL
+        }
+
+        /**
+         * 环形缓冲区参数配置类
+         */
+        @Data
+        public static class RingBuffer {
+            /**
+             * 缓冲区容量（向上取整为 2 的幂）
+             * <p>默认值：1024</p>
+             */
+            private int bufferSize = 1024;
+
+            /**
+             * 消费者每批最多处理的日志条数
+             * <p>默认值：64</p>
+             */
+            private int batchSize = 64;
+
+            /**
+             * 未凑满一批时最多等待的时间（单位：毫秒），0 表示有数据立即处理
+             * <p>等待方式与 waitStrategy 一致（park 策略可能超出约 1 毫秒）</p>
+             * <p>默认值：0</p>
+             */
+            private long lingerMs = 0;
+
+            /**
+             * 消费者线程数
+             * <p>默认值：1</p>
+             */
+            private int consumers = 1;
+
+            /**
+             * 等待策略：park / yield / spin
+             * <p>默认值：park</p>
+             */
+            private WaitStrategy waitStrategy = WaitStrategy.PARK;
+        }
+
+        /**
+         * 虚拟线程参数配置类
+         */
+        @Data
+        public static class Virtual {
+            /**
+             * 最大在途日志数（已提交、未写完），达到后新日志按队列溢出策略（overflow）处理
+             * <p>虚拟线程执行器本身从不拒绝任务，该上限相当于线程池的队列容量；drop-oldest 策略在此模式下等同于 drop-newest</p>
+             * <p>默认值：10000</p>
+             */
+            private int maxInFlight = 10000;
+
+            /**
+             * 每个存储器同时写入的最大并发数，超出的写入排队等待；小于等于 0 表示不限制
+             * <p>虚拟线程数量不受限，用于防止瞬时大量写入压垮数据库等后端</p>
+             * <p>默认值：16</p>
+             */
+            private int maxConcurrencyPerStorage = 16;
+
+            /**
+             * 按存储器 Bean 名称指定最大并发数，优先于 maxConcurrencyPerStorage
+             * <p>如 jdbcLogStorage: 8</p>
+             */
+            private Map<String, Integer> storageConcurrency = new HashMap<>();
+        }
+
+        /**
+         * 延迟渲染配置类
+         */
+        @Data
+        public static class DeferredRender {
+            /**
+             * 是否启用延迟渲染
+             * <p>启用后 async = true 的注解日志在业务线程只捕获解析上下文，模板和扩展参数在异步线程解析</p>
+             * <p>异步线程读不到业务线程的 ThreadLocal（安全上下文、MDC、事务与会话）；含 @ 的模板和需要预写的日志仍在业务线程解析</p>
+             * <p>默认值：false</p>
+             */
+            private boolean enabled = false;
+
+            /**
+             * 入参和返回值的快照策略：none（信任调用方）/ shallow（复制容器）/ copier（按类缓存的字段拷贝）
+             * <p>默认值：none</p>
+             */
+            private SnapshotStrategy snapshot = SnapshotStrategy.NONE;
+        }
+
+        /**
+         * 预写日志配置类
+         */
+        @Data
+        public static class Wal {
+            /**
+             * 是否启用预写日志
+             * <p>默认值：false</p>
+             */
+            private boolean enabled = false;
+
+            /**
+             * 段文件目录
+             * <p>默认值："biz-log-wal"（相对于工作目录）</p>
+             */
+            private String dir = "biz-log-wal";
+
+            /**
+             * 单个段文件大小（单位：MB），写满后滚动到新段
+             * <p>默认值：64</p>
+             */
+            private int segmentSizeMb = 64;
+
+            /**
+             * 刷盘（fsync）间隔（单位：毫秒）：大于 0 时后台线程按间隔组提交；0 表示每条日志刷盘；小于 0 表示不主动刷盘
+             * <p>不刷盘时进程崩溃不丢日志（数据已在操作系统页缓存中），仅操作系统崩溃或断电可能丢失</p>
+             * <p>默认值：10</p>
+             */
+            private long syncIntervalMs = 10;
+
+            /**
+             * 需要预写的动作编码，为空表示所有异步日志
+             * <p>如：[DELETE, EXPORT]</p>
+             */
+            private List<String> actions = new ArrayList<>();
+        }
+
+        /**
+         * 日志记录对象池配置类
+         * <p>只用于注解的异步记录；存储器在 store 返回后不能再持有日志记录（内部排队的存储器需覆盖 retainsRecords 返回 true）</p>
+         */
+        @Data
+        public static class Pool {
+            /**
+             * 是否启用对象池
+             * <p>默认值：false</p>
+             */
+            private boolean enabled = false;
+
+            /**
+             * 每个分段最多缓存的日志记录数，超出后归还的日志记录直接丢弃
+             * <p>默认值：256</p>
+             */
+            private int capacityPerStripe = 256;
+
+            /**
+             * 分段数（按线程分段，向上取整为 2 的幂），小于等于 0 时为 CPU 核数
+             * <p>默认值：0</p>
+             */
+            private int stripes = 0;
+
+            /**
+             * 调试模式：日志记录归还后不复用，之后再被读取时打印警告和调用栈，用于找出 store 返回后仍持有日志记录的存储器
+             * <p>默认值：false</p>
+             */
+            private boolean debug = false;
+        }
+
+        /**
+         * 存储器隔离配置类
+         */
+        @Data
+        public static class Isolation {
+            /**
+             * 是否启用存储器隔离
+             * <p>启用后异步日志由异步引擎分发到各存储器自己的队列，由各自的写线程批量写入</p>
+             * <p>默认值：false</p>
+             */
+            private boolean enabled = false;
+
+            /**
+             * 每个存储器的队列容量
+             * <p>默认值：1024</p>
+             */
+            private int queueCapacity = 1024;
+
+            /**
+             * 每个存储器的写线程数，小于等于 0 表示不隔离（在异步引擎线程直接写入）
+             * <p>默认值：1</p>
+             */
+            private int workers = 1;
+
+            /**
+             * 写线程每批最多写入的日志条数
+             * <p>默认值：64</p>
+             */
+            private int batchSize = 64;
+
+            /**
+             * 队列已满时最多等待的时间（单位：毫秒），超时后该存储器丢弃这条日志并交给错误处理器
+             * <p>默认值：0</p>
+             */
+            private long offerTimeoutMs = 0;
+
+            /**
+             * 按存储器 Bean 名称覆盖以上参数，未设置的参数使用默认值
+             * <p>如 jdbcLogStorage: {queue-capacity: 10000, workers: 2}</p>
+             */
+            private Map<String, Lane> storages = new HashMap<>();
+
+            /**
+             * 单个存储器的隔离参数
+             */
+            @Data
+            public static class Lane {
+                /**
+                 * 队列容量
+                 */
+                private Integer queueCapacity;
+
+                /**
+                 * 写线程数
+                 */
+                private Integer workers;
+
+                /**
+                 * 每批最多写入的日志条数
+                 */
+                private Integer batchSize;
+
+                /**
+                 * 队列已满时最多等待的时间（单位：毫秒）
+                 */
+                private Long offerTimeoutMs;
+            }
+        }
+
+        /**
+         * 队列溢出策略配置类
+         */
+        @Data
+        public static class Overflow {
+            /**
+             * 默认溢出策略：caller-runs / drop-newest / drop-oldest / block / fallback
+             * <p>默认值：caller-runs</p>
+             */
+            private OverflowPolicy policy = OverflowPolicy.CALLER_RUNS;
+
+            /**
+             * block 策略的最长等待时间（单位：毫秒），超时后丢弃
+             * <p>默认值：1000</p>
+             */
+            private long blockTimeoutMs = 1000;
+
+            /**
+             * fallback 策略使用的兜底存储器 Bean 名称
+             * <p>默认值："consoleLogStorage"</p>
+             */
+            private String fallbackStorageBeanName = LogConstant.DEFAULT_STORAGE_BEAN_NAME;
+
+            /**
+             * 按动作编码指定溢出策略，优先于默认策略
+             * <p>如审计类动作 DELETE: block，查询类动作 QUERY: drop-newest</p>
+             */
+            private Map<String, OverflowPolicy> actionPolicies = new HashMap<>();
+        }
     }
 
     /**
@@ -93,6 +765,16 @@ public class BizLogProperties {
          */
         private final Spel spel = new Spel();
 
+        /**
+         * 简单属性路径快速通道参数配置
+         */
+        private final FastPath fastPath = new FastPath();
+
+        /**
+         * 启动时预编译配置
+         */
+        private final Precompile precompile = new Precompile();
+
         /**
          * SpEL 解析器参数配置类
          */
@@ -104,6 +786,106 @@ public class BizLogProperties {
              * <p>默认值：true</p>
              */
             private boolean enabled = true;
+
+            /**
+             * 表达式缓存最大条数
+             * <p>缓存按模板字符串保存解析（及编译）后的表达式，超出后按 W-TinyLFU 策略淘汰</p>
+             * <p>默认值：100</p>
+             */
+            private long cacheSize = 100;
+
+            /**
+             * 表达式缓存过期时间（单位：秒）
+             * <p>最后一次访问后超过该时间未被使用则淘汰；小于等于 0 表示不过期</p>
+             * <p>默认值：120</p>
+             */
+            private long cacheTime = 120;
+
+            /**
+             * 表达式编译配置
+             */
+            private final Compile compile = new Compile();
+
+            /**
+             * SpEL 表达式编译配置类
+             * <p>每个模板单独记录求值统计并决定编译模式，见 SpelLogTemplateParser#getTemplateStats()</p>
+             */
+            @Data
+            public static class Compile {
+                /**
+                 * 模板的初始编译模式：OFF（只解释执行）/ MIXED（解释执行 100 次后编译，编译代码出错时回退）/ IMMEDIATE（第 2 次求值即编译）
+                 * <p>默认值：MIXED</p>
+                 */
+                private SpelCompilerMode mode = SpelCompilerMode.MIXED;
+
+                /**
+                 * 是否按观察到的回退自动调整每个模板的编译模式
+                 * <p>IMMEDIATE 连续出错 demote-after 次降为 MIXED，MIXED 连续出错降为 OFF；MIXED 下编译后连续 promote-after 次求值未回退升为 IMMEDIATE</p>
+                 * <p>关闭时与 SpEL 自身的 MIXED / IMMEDIATE 行为一致，编译模式只随配置或 API 改变</p>
+                 * <p>默认值：false</p>
+                 */
+                private boolean adaptive = false;
+
+                /**
+                 * 降级前允许的编译代码回退次数，升降级后重新计数；同时也是单个 #{...} 放弃编译前允许的编译失败次数，
+                 * 模板中所有 #{...} 都放弃编译时模板降为 OFF
+                 * <p>默认值：3</p>
+                 */
+                private int demoteAfter = 3;
+
+                /**
+                 * MIXED 模式下升为 IMMEDIATE 所需的连续编译求值次数，小于等于 0 表示不升级
+                 * <p>默认值：10000</p>
+                 */
+                private long promoteAfter = 10000;
+
+                /**
+                 * 是否记录每个模板的求值耗时（平均耗时），开启后每次求值多两次 System.nanoTime()
+                 * <p>默认值：false</p>
+                 */
+                private boolean timing = false;
+            }
+        }
+
+        /**
+         * 简单属性路径快速通道参数配置类
+         */
+        @Data
+        public static class FastPath {
+            /**
+             * 是否启用快速通道
+             * <p>仅由字面量和 #{#变量.属性} 组成的模板绕过 SpEL 直接渲染，其余模板仍由 SpEL 解析</p>
+             * <p>默认值：true</p>
+             */
+            private boolean enabled = true;
+        }
+
+        /**
+         * 启动时预编译配置类
+         * <p>容器刷新完成后扫描所有 @BizLog 方法：校验动作编码、预编译模板和 @ExtraValue 模板，可选预热</p>
+         */
+        @Data
+        public static class Precompile {
+            /**
+             * 是否在启动时预编译
+             * <p>默认值：true</p>
+             */
+            private boolean enabled = true;
+
+            /**
+             * 有错误（模板语法错误、未注册的动作编码等）时是否启动失败
+             * <p>false 时只打印错误日志；动作编码在容器刷新之后才注册时应保持 false</p>
+             * <p>默认值：false</p>
+             */
+            private boolean failFast = false;
+
+            /**
+             * 预热求值次数，小于等于 0 不预热
+             * <p>使用样例参数（零值、空集合、无参构造的对象）求值，SpEL 表达式求值超过 100 次后编译为字节码；
+             * 引用 Bean（@）或类型（T(...)）的模板不预热</p>
+             * <p>默认值：0</p>
+             */
+            private int warmUpIterations = 0;
         }
     }
 
@@ -15,4 +15,34 @@ public class LogConstant {
      * 默认存储器名称
      */
     public static final String DEFAULT_STORAGE_BEAN_NAME = "consoleLogStorage";
+
+    /**
+     * 文件存储器名称
+     */
+    public static final String FILE_STORAGE_BEAN_NAME = "fileLogStorage";
+
+    /**
+     * 数据库存储器名称
+     */
+    public static final String JDBC_STORAGE_BEAN_NAME = "jdbcLogStorage";
+
+    /**
+     * 聚合日志 extra 中合并条数的 key
+     */
+    public static final String AGGREGATE_COUNT_KEY = "count";
+
+    /**
+     * 聚合日志 extra 中第一条日志时间的 key
+     */
+    public static final String AGGREGATE_FIRST_TIME_KEY = "firstTime";
+
+    /**
+     * 聚合日志 extra 中最后一条日志时间的 key
+     */
+    public static final String AGGREGATE_LAST_TIME_KEY = "lastTime";
+
+    /**
+     * 解析上下文 extra 中动作编码的 key
+     */
+    public static final String ACTION_CODE_KEY = "actionCode";
 }
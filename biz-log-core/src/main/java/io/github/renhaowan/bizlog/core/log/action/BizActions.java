@@ -83,6 +83,31 @@ public final class BizActions {
                 .orElseThrow(() -> new BizLogException("未注册的业务动作: " + code));
     }
 
+    /**
+     * 获取业务动作，未注册时返回占位动作（描述与编码相同，不加入注册表）
+     * <p>用于还原已持久化的日志（预写日志重放、读取二进制日志文件），其中的动作可能已下线或尚未注册</p>
+     *
+     * @param code 业务动作编码
+     * @return 业务动作
+     */
+    public static AbstractBizAction ofOrPlaceholder(String code) {
+        AbstractBizAction action = REGISTRY.get(code);
+        if (action != null) {
+            return action;
+        }
+        return new AbstractBizAction() {
+            @Override
+            public String getCode() {
+                return code;
+            }
+
+            @Override
+            public String getDesc() {
+                return code;
+            }
+        };
+    }
+
     /**
      * 获取业务动作
      *
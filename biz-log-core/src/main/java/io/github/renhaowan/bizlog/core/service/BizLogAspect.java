@@ -1,7 +1,8 @@
 package io.github.renhaowan.bizlog.core.service;
 
+import io.github.renhaowan.bizlog.core.log.LogConstant;
 import io.github.renhaowan.bizlog.core.log.annotation.BizLog;
-import io.github.renhaowan.bizlog.core.log.annotation.ExtraValue;
+import io.github.renhaowan.bizlog.core.service.metrics.BizLogMetrics;
 import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -14,6 +15,7 @@ import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author wan
@@ -24,6 +26,8 @@ public class BizLogAspect {
     private final BizLogManager bizLogManager;
     private final ParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
     private final ExtendParseContextExtraValue extendParseContextExtraValue;
+    // 调用计划缓存：每个方法只构建一次
+    private final Map<Method, BizLogInvocationPlan> planCache = new ConcurrentHashMap<>();
 
     /**
      * 构造函数
@@ -59,38 +63,39 @@ public class BizLogAspect {
             throw ex;
         } finally {
             // 无论成功还是异常都会记录
-            Map<String, Object> argsMap = this.buildExtraMap(method, pjp.getArgs(), nameDiscoverer);
-            Map<String, Object> extra = new HashMap<>();
-            extra.put("actionCode", bizLog.actionCode());
-            // 扩展参数（接口）
-            extendExtraValue(extra);
-            // 扩展参数（ExtraValue注解）
-            extendExtraValue(bizLog.extras(), extra);
+            BizLogMetrics metrics = bizLogManager.getMetrics();
+            boolean timed = metrics.isEnabled();
+            long start = timed ? System.nanoTime() : 0;
+            BizLogInvocationPlan plan = planCache.computeIfAbsent(method,
+                    m -> bizLogManager.prepare(m, bizLog, nameDiscoverer.getParameterNames(m)));
+            // 采样与限流：未通过时不构建解析上下文，也不解析模板
+            if (plan.shouldRecord(thrown)) {
+                Map<String, Object> extra = new HashMap<>();
+                extra.put(LogConstant.ACTION_CODE_KEY, plan.getActionCode());
+                // 扩展参数（接口）
+                extendExtraValue(extra);
+                // 扩展参数（ExtraValue注解）
+                extendExtraValue(plan.getExtras(), extra);
 
-            ParseContext ctx = ParseContext.builder()
-                    .method(method)
-                    .args(argsMap)
-                    .retValue(retVal)
-                    .thrown(thrown)
-                    .extra(extra)
-                    .build();
-            bizLogManager.record(bizLog.value(), ctx, bizLog.async(), bizLog.storageBeanName());
+                ParseContext ctx = ParseContext.builder()
+                        .method(method)
+                        // 直接携带实参数组，按方法共享的下标表取值
+                        .binding(plan.getBinding())
+                        .argValues(pjp.getArgs())
+                        .retValue(retVal)
+                        .thrown(thrown)
+                        .extra(extra)
+                        .build();
+                bizLogManager.record(plan, ctx);
+            }
+            if (timed) {
+                // 切面开销：不含业务方法本身
+                metrics.recordAspect(System.nanoTime() - start);
+            }
         }
         return retVal;
     }
 
-    // 构建参数map<paramName, paramValue>
-    private Map<String, Object> buildExtraMap(Method method,
-                                              Object[] args,
-                                              ParameterNameDiscoverer nameDiscoverer) {
-        Map<String, Object> map = new HashMap<>();
-        String[] paramNames = nameDiscoverer.getParameterNames(method);
-        for (int i = 0; i < paramNames.length; i++) {
-            map.put(paramNames[i], args[i]);
-        }
-        return map;
-    }
-
     // 扩展参数(接口)
     private void extendExtraValue(Map<String, Object> extra){
         Optional.ofNullable(extendParseContextExtraValue.getExtraValue())
@@ -98,9 +103,9 @@ public class BizLogAspect {
     }
 
     // 扩展参数(ExtraValue注解)
-    private void extendExtraValue(ExtraValue[] extras, Map<String, Object> extra){
-        for (ExtraValue extraValue : extras) {
-            extra.put(extraValue.k(), extraValue.v());
+    private void extendExtraValue(BizLogInvocationPlan.PlannedExtra[] extras, Map<String, Object> extra){
+        for (BizLogInvocationPlan.PlannedExtra extraValue : extras) {
+            extra.put(extraValue.getKey(), extraValue.getValue());
         }
     }
 
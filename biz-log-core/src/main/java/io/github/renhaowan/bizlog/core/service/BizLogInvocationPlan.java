@@ -0,0 +1,104 @@
+package io.github.renhaowan.bizlog.core.service;
+
+import io.github.renhaowan.bizlog.core.log.action.AbstractBizAction;
+import io.github.renhaowan.bizlog.core.service.parse.ArgumentBinding;
+import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.sampling.ActionSampler;
+import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * @author wan
+ * 调用计划
+ * 每个被 @BizLog 标记的方法只构建一次：参数名、业务动作、解析器、扩展参数、存储器在首次调用时解析完毕，
+ * 之后每次调用只需绑定实参，不再重复做反射、注册表查询和责任链选择
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public final class BizLogInvocationPlan {
+    // 被拦截的方法
+    private final Method method;
+
+    // 参数名（与实参下标一一对应）
+    private final String[] parameterNames;
+
+    // 参数名与实参下标的对应表（各次调用共享）
+    private final ArgumentBinding binding;
+
+    // 动作编码
+    private final String actionCode;
+
+    // 已解析的业务动作
+    private final AbstractBizAction action;
+
+    // 日志模板
+    private final String template;
+
+    // 模板对应的解析器（为 null 表示没有解析器支持，原样输出）
+    private final LogTemplateParser parser;
+
+    // 预拆分的扩展参数（ExtraValue注解）
+    private final PlannedExtra[] extras;
+
+    // 是否异步记录
+    private final boolean async;
+
+    // 模板和扩展参数都不含 @（不调用 Bean），开启延迟渲染时可在异步线程解析
+    private final boolean deferrable;
+
+    // 注解上声明的存储器名称
+    private final String[] storageBeanName;
+
+    // 已解析的存储器（为 null 表示路由依赖日志内容或解析失败，每次记录时按名称或路由规则解析，失败由错误处理器兜底）
+    private final List<AbstractLogStorage> storages;
+
+    // 动作的采样与限流（为 null 表示全部记录）
+    private final ActionSampler sampler;
+
+    /**
+     * 本次调用是否记录日志（采样与限流）
+     *
+     * @param thrown 业务方法抛出的异常
+     * @return true: 记录
+     */
+    public boolean shouldRecord(Throwable thrown) {
+        return sampler == null || sampler.tryAcquire(thrown != null);
+    }
+
+    /**
+     * 是否包含指定 key 的扩展参数（ExtraValue注解）
+     *
+     * @param key 扩展参数 key
+     * @return true: 包含
+     */
+    public boolean hasExtra(String key) {
+        for (PlannedExtra extra : extras) {
+            if (extra.getKey().equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 预拆分的扩展参数
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class PlannedExtra {
+        // map key
+        private final String key;
+
+        // map value（模板）
+        private final String value;
+
+        // value 对应的解析器（为 null 表示原样输出）
+        private final LogTemplateParser parser;
+    }
+}
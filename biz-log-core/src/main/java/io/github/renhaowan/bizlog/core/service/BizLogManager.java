@@ -1,32 +1,73 @@
 package io.github.renhaowan.bizlog.core.service;
 
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
 import io.github.renhaowan.bizlog.core.log.BizLogRecord;
 import io.github.renhaowan.bizlog.core.log.LogConstant;
 import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.log.annotation.BizLog;
+import io.github.renhaowan.bizlog.core.log.annotation.ExtraValue;
+import io.github.renhaowan.bizlog.core.service.aggregate.LogAggregator;
 import io.github.renhaowan.bizlog.core.service.error.LogErrorHandler;
-import io.github.renhaowan.bizlog.core.service.executor.LogExecutorProvider;
+import io.github.renhaowan.bizlog.core.service.executor.*;
+import io.github.renhaowan.bizlog.core.service.metrics.BizLogMetrics;
+import io.github.renhaowan.bizlog.core.service.parse.ArgumentBinding;
 import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
 import io.github.renhaowan.bizlog.core.service.parse.impl.CompositeLogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.pool.LogRecordPool;
+import io.github.renhaowan.bizlog.core.service.sampling.LogSampler;
+import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
 import io.github.renhaowan.bizlog.core.service.storage.LogStorageManager;
+import io.github.renhaowan.bizlog.core.service.wal.WalEntry;
+import io.github.renhaowan.bizlog.core.service.wal.WriteAheadLog;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author wan
  * 对外暴露：注解 + 管理器两种使用方式
  */
 @Slf4j(topic = LogConstant.BIZ_LOG)
-public class BizLogManager implements InitializingBean {
+public class BizLogManager implements InitializingBean, DisposableBean {
 
     private final LogStorageManager storageManager;
     private final CompositeLogTemplateParser parser;
     private final Executor executor;
     private final LogErrorHandler errorHandler;
+    // 线程池异步引擎
+    private final ExecutorLogDispatcher executorDispatcher;
+    // 环形缓冲区异步引擎（mode = ring-buffer 时启用，否则为 null）
+    private final RingBufferLogDispatcher ringBuffer;
+    // 注解异步记录使用的引擎
+    private final LogDispatcher dispatcher;
+    // 队列溢出策略
+    private final BizLogProperties.Async.Overflow overflow;
+    // 入队统计
+    private final LogDispatchStats dispatchStats = new LogDispatchStats();
+    // 兜底存储器（fallback 策略，首次使用时解析）
+    private volatile List<AbstractLogStorage> fallbackStorages;
+    // 延迟渲染配置
+    private final BizLogProperties.Async.DeferredRender deferredRender;
+    // 预写日志（biz.log.async.wal.enabled = true 时启用，否则为 null）
+    private final WriteAheadLog wal;
+    // 按动作编码的采样与限流
+    private final LogSampler sampler;
+    // 重复日志聚合（biz.log.aggregation.enabled = true 时启用，否则为 null）
+    private final LogAggregator aggregator;
+    // 链路指标
+    private final BizLogMetrics metrics;
+    // 异步日志记录对象池（biz.log.async.pool.enabled = true 时启用，否则为 null）
+    private final LogRecordPool recordPool;
 
     /**
      * @param storageManager 日志存储管理器
@@ -38,10 +79,59 @@ public class BizLogManager implements InitializingBean {
                          CompositeLogTemplateParser parser,
                          LogExecutorProvider executorProvider,
                          LogErrorHandler errorHandler) {
+        this(storageManager, parser, executorProvider, errorHandler, new BizLogProperties());
+    }
+
+    /**
+     * @param storageManager 日志存储管理器
+     * @param parser 日志模板解析器
+     * @param executorProvider 日志记录执行器提供者
+     * @param errorHandler 日志记录错误处理器
+     * @param prop 配置属性
+     */
+    public BizLogManager(LogStorageManager storageManager,
+                         CompositeLogTemplateParser parser,
+                         LogExecutorProvider executorProvider,
+                         LogErrorHandler errorHandler,
+                         BizLogProperties prop) {
+        this(storageManager, parser, executorProvider, errorHandler, prop, BizLogMetrics.NOOP);
+    }
+
+    /**
+     * @param storageManager 日志存储管理器
+     * @param parser 日志模板解析器
+     * @param executorProvider 日志记录执行器提供者
+     * @param errorHandler 日志记录错误处理器
+     * @param prop 配置属性
+     * @param metrics 链路指标
+     */
+    public BizLogManager(LogStorageManager storageManager,
+                         CompositeLogTemplateParser parser,
+                         LogExecutorProvider executorProvider,
+                         LogErrorHandler errorHandler,
+                         BizLogProperties prop,
+                         BizLogMetrics metrics) {
         this.storageManager = storageManager;
         this.parser = parser;
         this.executor = executorProvider.getExecutor();
         this.errorHandler = errorHandler;
+        this.overflow = prop.getAsync().getOverflow();
+        this.deferredRender = prop.getAsync().getDeferredRender();
+        this.executorDispatcher = new ExecutorLogDispatcher(executor, this::deliver, this::onAsyncError);
+        this.ringBuffer = prop.getAsync().getMode() == BizLogProperties.Async.Mode.RING_BUFFER
+                ? new RingBufferLogDispatcher(prop.getAsync(), this::deliverBatch)
+                : null;
+        this.dispatcher = ringBuffer != null ? ringBuffer : executorDispatcher;
+        this.wal = prop.getAsync().getWal().isEnabled() ? new WriteAheadLog(prop.getAsync().getWal()) : null;
+        this.sampler = new LogSampler(prop.getSampling());
+        this.aggregator = prop.getAggregation().isEnabled()
+                ? new LogAggregator(prop.getAggregation(), event -> dispatch(true, event))
+                : null;
+        this.metrics = metrics;
+        this.recordPool = prop.getAsync().getPool().isEnabled() ? new LogRecordPool(prop.getAsync().getPool()) : null;
+        storageManager.setLaneErrorHandler(this::onAsyncError);
+        storageManager.setMetrics(metrics);
+        parser.setMetrics(metrics);
     }
 
     /* ========== 自定义存储器同步记录 ========== */
@@ -64,7 +154,80 @@ public class BizLogManager implements InitializingBean {
      * @return CompletableFuture
      */
     public CompletableFuture<Void> recordAsync(BizLogRecord record, String... storageBeanName) {
-            return CompletableFuture.runAsync(() -> record(record, storageBeanName), executor);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        LogEvent event = new LogEvent(record, storageBeanName, null);
+        writeAhead(event);
+        markEnqueued(event);
+        if (executorDispatcher.offer(event, future)) {
+            dispatchStats.onAccepted();
+            return future;
+        }
+        // 线程池已满：返回 Future 的调用不丢日志，由调用方执行
+        dispatchStats.onCallerRuns();
+        event.setEnqueuedNanos(0);
+        try {
+            deliver(event);
+            future.complete(null);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 获取异步入队统计（成功入队、丢弃、调用方执行、兜底存储次数）
+     * @return 入队统计
+     */
+    public LogDispatchStats getDispatchStats() {
+        return dispatchStats;
+    }
+
+    /**
+     * 获取采样与限流（按动作统计因采样、限流未记录的次数）
+     * @return 采样与限流
+     */
+    public LogSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * 获取链路指标
+     * @return 链路指标
+     */
+    public BizLogMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 获取异步队列中待处理的日志数（环形缓冲区或线程池队列）
+     * @return 待处理的日志数，拿不到线程池队列时返回 -1
+     */
+    public int getQueueSize() {
+        return ringBuffer != null ? ringBuffer.getQueueSize() : executorDispatcher.getQueueSize();
+    }
+
+    /**
+     * 获取日志线程池中正在执行任务的线程数
+     * @return 活跃线程数，拿不到底层 ThreadPoolExecutor 时返回 -1
+     */
+    public int getActiveThreads() {
+        return executorDispatcher.getActiveCount();
+    }
+
+    /**
+     * 获取重复日志聚合（被合并的日志数、正在聚合的 key 数）
+     * @return 重复日志聚合，未启用时返回 null
+     */
+    public LogAggregator getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * 获取异步日志记录对象池（复用、新建次数）
+     * @return 异步日志记录对象池，未启用时返回 null
+     */
+    public LogRecordPool getRecordPool() {
+        return recordPool;
     }
 
     /* ========== 快捷方法 —— 手动调用 ========== */
@@ -116,12 +279,12 @@ public class BizLogManager implements InitializingBean {
         Map<String, Object> extra = ctx.getExtra()
                 .entrySet()
                 .stream()
-                .filter(e -> !"actionCode".equals(e.getKey()))
+                .filter(e -> !LogConstant.ACTION_CODE_KEY.equals(e.getKey()))
                 .collect(java.util.stream.Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
         // 解析 extra （解析ExtraValue注解中的v）
         parserExtraValues(extra, ctx);
         BizLogRecord record = BizLogRecord.builder()
-                .action(BizActions.of((String) ctx.getExtra().get("actionCode")))
+                .action(BizActions.of((String) ctx.getExtra().get(LogConstant.ACTION_CODE_KEY)))
                 .content(content)
                 .throwable(ctx.getThrown())
                 .extra(extra)              // 过滤掉 actionCode 和 bizId
@@ -130,6 +293,129 @@ public class BizLogManager implements InitializingBean {
         recordChoose(async, record, storageBeanName);
     }
 
+    /* ========== 按调用计划解析并记录（供切面调用） ========== */
+
+    /**
+     * 构建调用计划：解析业务动作、选择解析器、拆分扩展参数并解析存储器
+     * <p>每个方法只需构建一次，结果由调用方缓存</p>
+     *
+     * @param method 被拦截的方法
+     * @param bizLog 业务日志注解
+     * @param parameterNames 方法参数名
+     * @return 调用计划
+     */
+    public BizLogInvocationPlan prepare(Method method, BizLog bizLog, String[] parameterNames) {
+        ExtraValue[] extraValues = bizLog.extras();
+        BizLogInvocationPlan.PlannedExtra[] extras = new BizLogInvocationPlan.PlannedExtra[extraValues.length];
+        for (int i = 0; i < extraValues.length; i++) {
+            String v = extraValues[i].v();
+            extras[i] = new BizLogInvocationPlan.PlannedExtra(extraValues[i].k(), v, parser.select(v));
+        }
+        List<AbstractLogStorage> storages;
+        try {
+            // 注解指定的存储器优先；否则只按动作编码就能确定路由时直接缓存结果
+            storages = bizLog.storageBeanName().length > 0
+                    ? storageManager.resolve(bizLog.storageBeanName())
+                    : storageManager.routeByAction(bizLog.actionCode());
+        } catch (IllegalArgumentException e) {
+            // 存储器不存在：保持按名称解析，每次记录时交给错误处理器
+            storages = null;
+        }
+        return BizLogInvocationPlan.builder()
+                .method(method)
+                .parameterNames(parameterNames == null ? new String[0] : parameterNames)
+                .binding(ArgumentBinding.of(parameterNames))
+                .actionCode(bizLog.actionCode())
+                .action(BizActions.of(bizLog.actionCode()))
+                .template(bizLog.value())
+                .parser(parser.select(bizLog.value()))
+                .extras(extras)
+                .async(bizLog.async())
+                .deferrable(!callsBean(bizLog.value(), extras))
+                .storageBeanName(bizLog.storageBeanName())
+                .storages(storages)
+                .sampler(sampler.forAction(bizLog.actionCode()))
+                .build();
+    }
+
+    // 模板或扩展参数是否调用 Bean（与预编译预热相同的判断：含 @）
+    private static boolean callsBean(String template, BizLogInvocationPlan.PlannedExtra[] extras) {
+        if (template.contains("@")) {
+            return true;
+        }
+        for (BizLogInvocationPlan.PlannedExtra extra : extras) {
+            if (extra.getValue().contains("@")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按调用计划解析模板并记录
+     * @param plan 调用计划
+     * @param ctx 解析上下文
+     */
+    public void record(BizLogInvocationPlan plan, ParseContext ctx) {
+        if (plan.isAsync() && deferredRender.isEnabled() && plan.isDeferrable()
+                && (wal == null || !wal.accepts(plan.getAction()))) {
+            // 延迟渲染：业务线程只做快照，模板和扩展参数在异步线程解析
+            // 调用 Bean 的模板可能依赖业务线程的 ThreadLocal（安全上下文、事务、懒加载会话），需要预写的日志入队前就要渲染，都不延迟
+            ParseContext snapshot = deferredRender.getSnapshot().snapshot(ctx);
+            BizLogRecord partial = BizLogRecord.builder()
+                    .action(plan.getAction())
+                    .content(plan.getTemplate())
+                    .throwable(ctx.getThrown())
+                    .time(LocalDateTime.now())
+                    .build();
+            recordChoose(true, new LogEvent(partial, plan.getStorageBeanName(), plan.getStorages(),
+                    () -> render(plan, snapshot, partial.getTime(), false)));
+            return;
+        }
+        BizLogRecord record = render(plan, ctx, LocalDateTime.now(), plan.isAsync() && recordPool != null);
+        recordChoose(plan.isAsync(), new LogEvent(record, plan.getStorageBeanName(), plan.getStorages()));
+    }
+
+    /**
+     * 按调用计划渲染日志记录
+     * @param plan 调用计划
+     * @param ctx 解析上下文
+     * @param time 记录时间
+     * @param pooled 是否从对象池借出日志记录（只用于业务线程渲染的异步日志）
+     * @return 日志记录
+     */
+    private BizLogRecord render(BizLogInvocationPlan plan, ParseContext ctx, LocalDateTime time, boolean pooled) {
+        // 解析模板
+        String content = parser.parse(plan.getParser(), plan.getTemplate(), ctx);
+        BizLogRecord record = pooled ? recordPool.borrow() : null;
+        // 解析 extra：接口扩展参数走责任链，ExtraValue注解使用计划中选定的解析器
+        Map<String, Object> extra = record != null ? record.getExtra() : new HashMap<>();
+        for (Map.Entry<String, Object> entry : ctx.getExtra().entrySet()) {
+            String key = entry.getKey();
+            if (LogConstant.ACTION_CODE_KEY.equals(key) || plan.hasExtra(key)) {
+                continue;
+            }
+            extra.put(key, entry.getValue() instanceof String v ? parser.parse(v, ctx) : entry.getValue());
+        }
+        for (BizLogInvocationPlan.PlannedExtra e : plan.getExtras()) {
+            extra.put(e.getKey(), parser.parse(e.getParser(), e.getValue(), ctx));
+        }
+        if (record != null) {
+            record.setAction(plan.getAction());
+            record.setContent(content);
+            record.setThrowable(ctx.getThrown());
+            record.setTime(time);
+            return record;
+        }
+        return BizLogRecord.builder()
+                .action(plan.getAction())
+                .content(content)
+                .throwable(ctx.getThrown())
+                .extra(extra)
+                .time(time)
+                .build();
+    }
+
     /**
      * 选择记录方式
      * @param async 是否异步
@@ -137,31 +423,296 @@ public class BizLogManager implements InitializingBean {
      * @param storageBeanName 存储器名称
      */
     private void recordChoose(boolean async, BizLogRecord record, String[] storageBeanName){
-        if (async) {
-            recordAsync(record, storageBeanName)
-                    .whenComplete((v, e) -> {
-                        if (e != null) {
-                            errorHandler.onError(record, e);
-                        }
-                    });
+        recordChoose(async, new LogEvent(record, storageBeanName, null));
+    }
+
+    /**
+     * 选择记录方式：不需要预写的异步日志先尝试聚合，被聚合的日志在窗口结束时再分发
+     * @param async 是否异步
+     * @param event 日志事件
+     */
+    private void recordChoose(boolean async, LogEvent event){
+        if (async && aggregator != null && (wal == null || !wal.accepts(event.getRecord().getAction()))
+                && aggregator.offer(event)) {
+            return;
+        }
+        dispatch(async, event);
+    }
+
+    /**
+     * 分发日志：同步直接写入，异步预写后入队
+     * @param async 是否异步
+     * @param event 日志事件
+     */
+    private void dispatch(boolean async, LogEvent event){
+        if (!async) {
+            try {
+                // 同步记录直接写入（不经过存储器通道），多个存储器时按配置并行写入
+                BizLogRecord record = event.render();
+                storageManager.store(record, event.getStorages() != null
+                        ? event.getStorages()
+                        : storageManager.route(record, event.getStorageBeanName()));
+            } catch (Exception e) {
+                metrics.onError(event.getRecord(), e);
+                errorHandler.onError(event.getRecord(), e);
+            }
+            return;
+        }
+        if (!writeAhead(event)) {
+            return;
+        }
+        markEnqueued(event);
+        if (dispatcher.offer(event)) {
+            dispatchStats.onAccepted();
         } else {
+            onOverflow(event);
+        }
+    }
+
+    /**
+     * 队列已满：按溢出策略处理，未入队的日志事件在此释放
+     * <p>被丢弃的日志不标记预写日志完成，已预写的日志在下次启动时重放；兜底存储器写入成功后整条标记完成</p>
+     * @param event 日志事件
+     */
+    private void onOverflow(LogEvent event) {
+        switch (overflowPolicy(event)) {
+            case DROP_NEWEST:
+                dispatchStats.onDropped();
+                event.release();
+                break;
+            case DROP_OLDEST:
+                LogEvent evicted = dispatcher.evictOldest();
+                if (evicted != null) {
+                    dispatchStats.onDropped();
+                    evicted.release();
+                }
+                if (dispatcher.offer(event)) {
+                    dispatchStats.onAccepted();
+                } else {
+                    dispatchStats.onDropped();
+                    event.release();
+                }
+                break;
+            case BLOCK:
+                if (dispatcher.offer(event, overflow.getBlockTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    dispatchStats.onAccepted();
+                } else {
+                    dispatchStats.onDropped();
+                    event.release();
+                }
+                break;
+            case FALLBACK:
+                dispatchStats.onFallback();
+                try {
+                    // 兜底存储器同步写入；可能持有日志记录的存储器不复用
+                    List<AbstractLogStorage> storages = fallbackStorages();
+                    for (AbstractLogStorage storage : storages) {
+                        if (storage.retainsRecords()) {
+                            event.discard();
+                        }
+                    }
+                    storageManager.store(event.render(), storages);
+                    // 兜底存储器不在预写的目标存储器中，写入成功即整条完成，避免重启后重复写入
+                    event.complete();
+                } catch (Exception e) {
+                    onAsyncError(event.getRecord(), e);
+                    event.discard();
+                }
+                event.release();
+                break;
+            default:
+                dispatchStats.onCallerRuns();
+                event.setEnqueuedNanos(0);
+                try {
+                    deliver(event);
+                } catch (Exception e) {
+                    onAsyncError(event.getRecord(), e);
+                    event.discard();
+                }
+                event.release();
+        }
+    }
+
+    /**
+     * 入队前追加预写日志（需要预写的日志不做延迟渲染，入队前已渲染）
+     * @param event 日志事件
+     * @return false: 渲染失败，已交给错误处理器，不再入队
+     */
+    private boolean writeAhead(LogEvent event) {
+        if (wal == null || !wal.accepts(event.getRecord().getAction())) {
+            return true;
+        }
+        BizLogRecord record;
+        List<AbstractLogStorage> targets;
+        try {
+            record = event.render();
+            targets = event.getStorages() != null
+                    ? event.getStorages()
+                    : storageManager.route(record, event.getStorageBeanName());
+        } catch (IllegalArgumentException e) {
+            // 存储器不存在：不预写，由异步线程交给错误处理器
+            return true;
+        } catch (Exception e) {
+            onAsyncError(event.getRecord(), e);
+            return false;
+        }
+        List<String> names = new ArrayList<>(targets.size());
+        for (AbstractLogStorage storage : targets) {
+            names.add(storage.getBeanName());
+        }
+        try {
+            WalEntry entry = wal.append(record, names);
+            if (entry != null) {
+                event.attach(entry, targets);
+            }
+        } catch (Exception e) {
+            log.warn("BizLog WAL append failed, record is queued without write-ahead", e);
+        }
+        return true;
+    }
+
+    // 溢出策略：按动作编码配置优先，否则使用默认策略
+    private OverflowPolicy overflowPolicy(LogEvent event) {
+        Map<String, OverflowPolicy> actionPolicies = overflow.getActionPolicies();
+        if (actionPolicies.isEmpty() || event.getRecord().getAction() == null) {
+            return overflow.getPolicy();
+        }
+        return actionPolicies.getOrDefault(event.getRecord().getAction().getCode(), overflow.getPolicy());
+    }
+
+    // 兜底存储器
+    private List<AbstractLogStorage> fallbackStorages() {
+        List<AbstractLogStorage> storages = fallbackStorages;
+        if (storages == null) {
+            storages = storageManager.resolve(overflow.getFallbackStorageBeanName());
+            fallbackStorages = storages;
+        }
+        return storages;
+    }
+
+    /**
+     * 存储日志事件
+     * @param event 日志事件
+     */
+    private void deliver(LogEvent event) {
+        recordQueueWait(event);
+        try {
+            event.render();
+        } catch (RuntimeException e) {
+            event.complete();
+            throw e;
+        }
+        storageManager.store(event);
+    }
+
+    /**
+     * 批量存储日志事件（环形缓冲区消费者线程调用）：按存储器分组整批写入，失败的日志交给错误处理器
+     * @param events 日志事件
+     */
+    private void deliverBatch(List<LogEvent> events) {
+        List<LogEvent> rendered = events;
+        for (int i = 0; i < events.size(); i++) {
+            LogEvent event = events.get(i);
+            recordQueueWait(event);
             try {
-                record(record, storageBeanName);
+                event.render();
+                if (rendered != events) {
+                    rendered.add(event);
+                }
             } catch (Exception e) {
-                errorHandler.onError(record, e);
+                // 渲染失败：部分记录交给错误处理器，其余日志照常写入
+                onAsyncError(event.getRecord(), e);
+                event.complete();
+                event.discard();
+                if (rendered == events) {
+                    rendered = new ArrayList<>(events.subList(0, i));
+                }
+            }
+        }
+        try {
+            storageManager.storeBatch(rendered, this::onAsyncError);
+        } finally {
+            for (LogEvent event : events) {
+                event.release();
             }
         }
     }
 
-    /* Spring 容器启动后打印线程池信息 */
+    // 记录入队时间（未启用指标时不计时）
+    private void markEnqueued(LogEvent event) {
+        if (metrics.isEnabled()) {
+            event.setEnqueuedNanos(System.nanoTime());
+        }
+    }
+
+    // 记录队列等待时间（只记录一次）
+    private void recordQueueWait(LogEvent event) {
+        long enqueued = event.getEnqueuedNanos();
+        if (enqueued != 0) {
+            event.setEnqueuedNanos(0);
+            metrics.recordQueueWait(System.nanoTime() - enqueued);
+        }
+    }
+
+    // 异步线程中的错误处理：错误处理器本身抛出的异常不能中断消费者线程
+    private void onAsyncError(BizLogRecord record, Throwable ex) {
+        metrics.onError(record, ex);
+        try {
+            errorHandler.onError(record, ex);
+        } catch (Exception e) {
+            log.debug("LogErrorHandler rethrow: {}", e.getMessage());
+        }
+    }
+
+    /* Spring 容器启动后绑定指标、重放预写日志并打印线程池信息 */
     @Override
     public void afterPropertiesSet() {
+        metrics.bind(this);
+        if (wal != null) {
+            // 存储器落地后确认；写入失败交给错误处理器，不确认，下次启动时再次重放；存储器已不存在时无法重放，交给错误处理器后确认
+            int replayed = wal.replay((record, storageBeanName, ack) -> {
+                try {
+                    storageManager.store(record, storageBeanName, error -> {
+                        if (error != null) {
+                            onAsyncError(record, error);
+                        } else {
+                            ack.run();
+                        }
+                    });
+                } catch (IllegalArgumentException e) {
+                    onAsyncError(record, e);
+                    ack.run();
+                } catch (Exception e) {
+                    onAsyncError(record, e);
+                }
+            });
+            if (replayed > 0) {
+                log.info("BizLog WAL replayed {} unacknowledged records", replayed);
+            }
+        }
         log.info("BizLogManager initialized, defaultStorage={}, executor={}, errorHandler={}",
-                storageManager.getDefaultStorageBeanName(), executor.getClass().getSimpleName()
+                storageManager.getDefaultStorageBeanName(),
+                ringBuffer != null ? ringBuffer.getClass().getSimpleName() : executor.getClass().getSimpleName()
                 , errorHandler.getClass().getSimpleName()
         );
     }
 
+    /* Spring 容器销毁时交出聚合中的日志，停止环形缓冲区和存储器通道，处理完剩余日志，并刷盘预写日志
+     * 日志线程池由执行器提供者单独关闭，其中尚未执行的任务在存储器通道停止后直接写入存储器 */
+    @Override
+    public void destroy() {
+        if (aggregator != null) {
+            aggregator.close();
+        }
+        if (ringBuffer != null) {
+            ringBuffer.shutdown();
+        }
+        storageManager.shutdown();
+        if (wal != null) {
+            wal.close();
+        }
+    }
+
     /**
      * 解析 extra 中的 ExtraValue 注解
      * @param extra 待解析的 extra
@@ -0,0 +1,221 @@
+package io.github.renhaowan.bizlog.core.service;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.log.annotation.BizLog;
+import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 启动时预编译
+ * 收集所有 Bean 上的 @BizLog 方法，所有单例创建完成后逐个构建调用计划（校验动作编码、存储器）并预编译模板和 @ExtraValue 模板，
+ * 模板错误在启动时暴露而不是在第一次调用时；可选地用样例参数预热，让 SpEL 表达式在流量到来前完成编译
+ * <p>日志管理器和配置按需获取，本类不会让它们在其他 BeanPostProcessor 注册之前提前创建</p>
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class BizLogPrecompiler implements BeanPostProcessor, SmartInitializingSingleton {
+
+    // 基本类型（包装类）的零值
+    private static final Map<Class<?>, Object> ZERO_VALUES = Map.of(
+            Boolean.class, false, Character.class, '\0', Byte.class, (byte) 0, Short.class, (short) 0,
+            Integer.class, 0, Long.class, 0L, Float.class, 0f, Double.class, 0d);
+
+    private final ObjectProvider<BizLogManager> manager;
+    private final ObjectProvider<BizLogProperties> prop;
+    private final ParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    // 已扫描的类
+    private final Set<Class<?>> scanned = ConcurrentHashMap.newKeySet();
+    // 待预编译的方法
+    private final Map<Method, BizLog> methods = new ConcurrentHashMap<>();
+    // 已完成预编译，之后创建的 Bean（懒加载、原型）不再收集
+    private volatile boolean done;
+
+    /**
+     * @param manager 日志管理器
+     * @param prop    配置属性
+     */
+    public BizLogPrecompiler(ObjectProvider<BizLogManager> manager, ObjectProvider<BizLogProperties> prop) {
+        this.manager = manager;
+        this.prop = prop;
+    }
+
+    /**
+     * 收集 Bean 上的 @BizLog 方法（每个类只扫描一次）
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (done) {
+            return bean;
+        }
+        Class<?> type = ClassUtils.getUserClass(AopUtils.getTargetClass(bean));
+        if (scanned.add(type) && AnnotationUtils.isCandidateClass(type, BizLog.class)) {
+            methods.putAll(MethodIntrospector.selectMethods(type,
+                    (MethodIntrospector.MetadataLookup<BizLog>) m -> m.getAnnotation(BizLog.class)));
+        }
+        return bean;
+    }
+
+    /**
+     * 所有单例创建完成后预编译
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        done = true;
+        BizLogManager m = manager.getIfAvailable();
+        try {
+            if (m != null && !methods.isEmpty()) {
+                precompile(m, prop.getIfAvailable(BizLogProperties::new).getParser().getPrecompile());
+            }
+        } finally {
+            scanned.clear();
+            methods.clear();
+        }
+    }
+
+    private void precompile(BizLogManager m, BizLogProperties.Parser.Precompile config) {
+        long start = System.nanoTime();
+        List<BizLogInvocationPlan> plans = new ArrayList<>(methods.size());
+        List<String> errors = new ArrayList<>();
+        int templates = 0;
+        for (Map.Entry<Method, BizLog> entry : methods.entrySet()) {
+            Method method = entry.getKey();
+            try {
+                BizLogInvocationPlan plan = m.prepare(method, entry.getValue(), nameDiscoverer.getParameterNames(method));
+                precompile(plan.getParser(), plan.getTemplate());
+                for (BizLogInvocationPlan.PlannedExtra extra : plan.getExtras()) {
+                    precompile(extra.getParser(), extra.getValue());
+                }
+                templates += 1 + plan.getExtras().length;
+                plans.add(plan);
+            } catch (Exception e) {
+                errors.add(method.getDeclaringClass().getSimpleName() + "#" + method.getName() + ": " + e.getMessage());
+            }
+        }
+        long compiledNanos = System.nanoTime() - start;
+
+        int warmed = 0;
+        long warmUpNanos = 0;
+        if (config.getWarmUpIterations() > 0) {
+            long warmUpStart = System.nanoTime();
+            for (BizLogInvocationPlan plan : plans) {
+                warmed += warmUp(plan, config.getWarmUpIterations());
+            }
+            warmUpNanos = System.nanoTime() - warmUpStart;
+        }
+
+        for (String error : errors) {
+            log.error("BizLog precompile failed, {}", error);
+        }
+        log.info("BizLog precompiled {} methods, {} templates in {} ms, warmed up {} templates in {} ms, {} errors",
+                plans.size(), templates, TimeUnit.NANOSECONDS.toMillis(compiledNanos),
+                warmed, TimeUnit.NANOSECONDS.toMillis(warmUpNanos), errors.size());
+        if (config.isFailFast() && !errors.isEmpty()) {
+            throw new BizLogException("BizLog precompile failed: " + String.join("; ", errors));
+        }
+    }
+
+    // 没有解析器（纯文本兜底）时无需预编译
+    private static void precompile(LogTemplateParser parser, String template) {
+        if (parser != null) {
+            parser.precompile(template);
+        }
+    }
+
+    // 用样例参数预热模板，返回预热成功的模板数；引用 Bean 或类型的模板可能有副作用，不预热
+    private int warmUp(BizLogInvocationPlan plan, int iterations) {
+        Method method = plan.getMethod();
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = sampleValue(types[i]);
+        }
+        ParseContext ctx = ParseContext.builder()
+                .method(method)
+                .binding(plan.getBinding())
+                .argValues(args)
+                .retValue(sampleValue(method.getReturnType()))
+                .extra(new HashMap<>())
+                .build();
+        int warmed = warmUp(plan.getParser(), plan.getTemplate(), ctx, iterations);
+        for (BizLogInvocationPlan.PlannedExtra extra : plan.getExtras()) {
+            warmed += warmUp(extra.getParser(), extra.getValue(), ctx, iterations);
+        }
+        return warmed;
+    }
+
+    private static int warmUp(LogTemplateParser parser, String template, ParseContext ctx, int iterations) {
+        if (parser == null || template.contains("@") || template.contains("T(")) {
+            return 0;
+        }
+        try {
+            return parser.warmUp(template, ctx, iterations) ? 1 : 0;
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // 样例参数：零值、空字符串、空集合、第一个枚举常量、有无参构造器的非 JDK 类的新实例，其余为 null
+    private static Object sampleValue(Class<?> type) {
+        if (type.isPrimitive() || ClassUtils.isPrimitiveWrapper(type)) {
+            return ZERO_VALUES.get(ClassUtils.resolvePrimitiveIfNecessary(type));
+        }
+        if (type == Object.class) {
+            return null;
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type.isArray()) {
+            return Array.newInstance(type.getComponentType(), 0);
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants.length > 0 ? constants[0] : null;
+        }
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>();
+        }
+        if (type.isAssignableFrom(HashSet.class)) {
+            return new HashSet<>();
+        }
+        if (type.isAssignableFrom(HashMap.class)) {
+            return new HashMap<>();
+        }
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.getName().startsWith("java.")) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            return BeanUtils.instantiateClass(constructor);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package io.github.renhaowan.bizlog.core.service.aggregate;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.service.executor.LogEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * @author wan
+ * 重复日志聚合
+ * 时间窗口内动作、内容、异常类型、目标存储器和指定 extra 都相同的日志合并为一条：
+ * 保留第一条日志，extra 中附加 count、firstTime、lastTime，窗口结束时交给下游（只有一条时原样交出）
+ * <p>只聚合异步日志，且由调用方保证这些日志不需要预写（同步日志必须在调用返回前写入，预写的日志不能在窗口内只存在于内存中）；
+ * 被合并的日志事件立即释放，第一条在窗口结束生成合并日志后释放</p>
+ * <p>同时聚合的 key 数有上限，超出后新 key 的日志不聚合；关闭时立即交出所有未结束的窗口</p>
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class LogAggregator {
+
+    private final long windowNanos;
+    private final int maxKeys;
+    private final Set<String> actions;
+    private final String[] keyExtras;
+    // 下游（异步分发）
+    private final Consumer<LogEvent> downstream;
+
+    private final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final LongAdder merged = new LongAdder();
+    // offer 持读锁，close 持写锁置位 closed：关闭后的最终 flush 之前不会再有日志放入窗口
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * @param aggregation 聚合配置
+     * @param downstream  下游（异步分发）
+     */
+    public LogAggregator(BizLogProperties.Aggregation aggregation, Consumer<LogEvent> downstream) {
+        long windowMs = Math.max(1, aggregation.getWindowMs());
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxKeys = Math.max(1, aggregation.getMaxKeys());
+        this.actions = new HashSet<>(aggregation.getActions());
+        this.keyExtras = aggregation.getKeyExtras().toArray(new String[0]);
+        this.downstream = downstream;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, LogConstant.BIZ_LOG + "-aggregate");
+            t.setDaemon(true);
+            return t;
+        });
+        // 检查间隔为窗口的 1/4，窗口最多延后 1/4 结束
+        long tick = Math.max(1, windowMs / 4);
+        flusher.scheduleWithFixedDelay(() -> flush(false), tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 尝试聚合异步日志（调用方保证不需要预写）
+     *
+     * @param event 日志事件（未渲染的事件不聚合）
+     * @return true: 已被聚合，调用方不再处理；false: 不聚合，由调用方照常处理
+     */
+    public boolean offer(LogEvent event) {
+        BizLogRecord record = event.getRecord();
+        if (closed || !event.isRendered() || !accepts(record)) {
+            return false;
+        }
+        Key key = new Key(event, keyExtras);
+        LocalDateTime time = record.getTime() != null ? record.getTime() : LocalDateTime.now();
+        closeLock.readLock().lock();
+        try {
+            return !closed && add(key, event, time);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    // 放入窗口（持读锁调用）
+    private boolean add(Key key, LogEvent event, LocalDateTime time) {
+        for (;;) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxKeys) {
+                    return false;
+                }
+                Bucket created = new Bucket(event, time);
+                bucket = buckets.putIfAbsent(key, created);
+                if (bucket == null) {
+                    return true;
+                }
+            }
+            if (bucket.add(time)) {
+                merged.increment();
+                // 只计数，不再需要该事件
+                event.release();
+                return true;
+            }
+            // 窗口刚刚结束：移除后重新开始一个窗口
+            buckets.remove(key, bucket);
+        }
+    }
+
+    /**
+     * @return 被合并（未单独写入）的日志数
+     */
+    public long getMerged() {
+        return merged.sum();
+    }
+
+    /**
+     * @return 正在聚合的 key 数
+     */
+    public int getPendingKeys() {
+        return buckets.size();
+    }
+
+    /**
+     * 关闭：停止定时检查，立即交出所有未结束的窗口
+     */
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(true);
+    }
+
+    private boolean accepts(BizLogRecord record) {
+        if (actions.isEmpty()) {
+            return true;
+        }
+        return record.getAction() != null && actions.contains(record.getAction().getCode());
+    }
+
+    // 交出已结束（或全部）的窗口
+    private void flush(boolean all) {
+        long now = System.nanoTime();
+        List<Bucket> expired = new ArrayList<>();
+        for (Map.Entry<Key, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if ((all || now - bucket.startNanos >= windowNanos) && buckets.remove(entry.getKey(), bucket)) {
+                bucket.close();
+                expired.add(bucket);
+            }
+        }
+        for (Bucket bucket : expired) {
+            try {
+                downstream.accept(bucket.toEvent());
+            } catch (Exception e) {
+                log.error("【操作日志】聚合日志写入失败: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 聚合窗口：计数和时间由 bucket 自身的锁保护（同一 key 的竞争很少）
+     */
+    private static final class Bucket {
+        private final LogEvent first;
+        private final long startNanos = System.nanoTime();
+        private final LocalDateTime firstTime;
+        private LocalDateTime lastTime;
+        private long count = 1;
+        private boolean closed;
+
+        Bucket(LogEvent first, LocalDateTime time) {
+            this.first = first;
+            this.firstTime = time;
+            this.lastTime = time;
+        }
+
+        synchronized boolean add(LocalDateTime time) {
+            if (closed) {
+                return false;
+            }
+            count++;
+            if (time.isAfter(lastTime)) {
+                lastTime = time;
+            }
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+
+        synchronized LogEvent toEvent() {
+            if (count == 1) {
+                return first;
+            }
+            BizLogRecord record = first.getRecord();
+            Map<String, Object> extra = record.getExtra() != null ? new HashMap<>(record.getExtra()) : new HashMap<>();
+            extra.put(LogConstant.AGGREGATE_COUNT_KEY, count);
+            extra.put(LogConstant.AGGREGATE_FIRST_TIME_KEY, firstTime);
+            extra.put(LogConstant.AGGREGATE_LAST_TIME_KEY, lastTime);
+            BizLogRecord aggregated = BizLogRecord.builder()
+                    .action(record.getAction())
+                    .content(record.getContent())
+                    .throwable(record.getThrowable())
+                    .extra(extra)
+                    .time(firstTime)
+                    .build();
+            LogEvent event = new LogEvent(aggregated, first.getStorageBeanName(), first.getStorages());
+            first.release();
+            return event;
+        }
+    }
+
+    /**
+     * 聚合 key：动作、内容、异常类型、目标存储器、指定的 extra 值
+     */
+    private static final class Key {
+        private final String action;
+        private final String content;
+        private final String throwable;
+        private final Object targets;
+        private final Object[] extras;
+        private final int hash;
+
+        Key(LogEvent event, String[] keyExtras) {
+            BizLogRecord record = event.getRecord();
+            this.action = record.getAction() != null ? record.getAction().getCode() : null;
+            this.content = record.getContent();
+            this.throwable = record.getThrowable() != null ? record.getThrowable().getClass().getName() : null;
+            this.targets = event.getStorages() != null
+                    ? event.getStorages()
+                    : event.getStorageBeanName() != null ? Arrays.asList(event.getStorageBeanName()) : null;
+            this.extras = new Object[keyExtras.length];
+            Map<String, Object> extra = record.getExtra();
+            for (int i = 0; i < keyExtras.length; i++) {
+                extras[i] = extra != null ? extra.get(keyExtras[i]) : null;
+            }
+            int h = Objects.hash(action, content, throwable, targets);
+            this.hash = 31 * h + Arrays.hashCode(extras);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key k)) {
+                return false;
+            }
+            return hash == k.hash
+                    && Objects.equals(action, k.action)
+                    && Objects.equals(content, k.content)
+                    && Objects.equals(throwable, k.throwable)
+                    && Objects.equals(targets, k.targets)
+                    && Arrays.equals(extras, k.extras);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
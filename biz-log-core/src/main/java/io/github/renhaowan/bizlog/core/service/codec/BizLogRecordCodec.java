@@ -0,0 +1,80 @@
+package io.github.renhaowan.bizlog.core.service.codec;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author wan
+ * BizLogRecord 二进制编码
+ * <pre>
+ * 记录：version(byte) + flags(byte) + [action] + [content] + [time] + [throwable] + [extra]
+ *   flags      第 0~4 位分别表示 action、content、time、throwable、extra 是否存在
+ *   action     字典字符串（动作编码）
+ *   content    字符串
+ *   time       varlong 纪元毫秒（zigzag，按系统时区）+ varint 毫秒内纳秒
+ *   throwable  字典字符串（异常类名）+ 字符串（消息）
+ *   extra      varint 个数 + N 个（字典字符串 key + 类型标记 + 值）
+ *              值：int/short/long 为 zigzag varint/varlong，byte 为 1 字节，float/double 为小端定长，
+ *              BigDecimal 为字符串，LocalDateTime 同 time，其余类型按 String.valueOf 保存为字符串
+ * 字符串：     varint(UTF-8 字节数 + 1) + 字节，0 表示 null
+ * 字典字符串： varint 0 = null；1 = 新字符串，随后为字符串并加入字典；k >= 2 = 字典中第 k - 2 个
+ * </pre>
+ * 字典在同一条流（同一个 {@link RecordEncoder} / {@link RecordDecoder}）内累积，重复的动作编码、extra key、异常类名只写一次；
+ * 编解码双方必须以相同顺序处理同一条流，流边界处各自 reset
+ */
+public final class BizLogRecordCodec {
+
+    /**
+     * 当前版本
+     */
+    public static final byte VERSION = 1;
+
+    static final int FLAG_ACTION = 1;
+    static final int FLAG_CONTENT = 1 << 1;
+    static final int FLAG_TIME = 1 << 2;
+    static final int FLAG_THROWABLE = 1 << 3;
+    static final int FLAG_EXTRA = 1 << 4;
+
+    // extra 值类型标记
+    static final byte TYPE_NULL = 0;
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_INT = 2;
+    static final byte TYPE_LONG = 3;
+    static final byte TYPE_TRUE = 4;
+    static final byte TYPE_FALSE = 5;
+    static final byte TYPE_DOUBLE = 6;
+    static final byte TYPE_FLOAT = 7;
+    static final byte TYPE_DECIMAL = 8;
+    static final byte TYPE_DATE_TIME = 9;
+    static final byte TYPE_SHORT = 10;
+    static final byte TYPE_BYTE = 11;
+
+    private static final ThreadLocal<RecordEncoder> ENCODER = ThreadLocal.withInitial(RecordEncoder::new);
+
+    private BizLogRecordCodec() {
+    }
+
+    /**
+     * 独立编码单条记录（不依赖流字典）
+     *
+     * @param record 日志记录
+     * @return 编码结果
+     */
+    public static byte[] encode(BizLogRecord record) {
+        RecordEncoder encoder = ENCODER.get();
+        encoder.reset();
+        encoder.writeRecord(record);
+        return encoder.toByteArray();
+    }
+
+    /**
+     * 解码由 {@link #encode(BizLogRecord)} 编码的单条记录
+     *
+     * @param buf 缓冲区（从 position 开始读取，读取后 position 位于记录末尾）
+     * @return 日志记录
+     */
+    public static BizLogRecord decode(ByteBuffer buf) {
+        return new RecordDecoder(buf).readRecord();
+    }
+}
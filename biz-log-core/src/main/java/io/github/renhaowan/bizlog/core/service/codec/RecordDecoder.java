@@ -0,0 +1,224 @@
+package io.github.renhaowan.bizlog.core.service.codec;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import io.github.renhaowan.bizlog.core.service.error.ThrowableSummary;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.renhaowan.bizlog.core.service.codec.BizLogRecordCodec.*;
+
+/**
+ * @author wan
+ * 二进制解码器（非线程安全）
+ * 直接从 ByteBuffer（堆内存、直接内存或内存映射文件）读取，不整体复制；一个解码器对应一条流，字典随读取累积
+ * <p>异常还原为 {@link ThrowableSummary}，未注册的动作编码还原为占位动作，extra 中不支持的类型在编码时已转为字符串</p>
+ */
+public final class RecordDecoder {
+
+    private final ByteBuffer in;
+    private final List<String> dictionary = new ArrayList<>();
+    // 直接内存读取字符串时的中转数组
+    private byte[] scratch;
+
+    /**
+     * @param in 输入（从 position 开始读取）
+     */
+    public RecordDecoder(ByteBuffer in) {
+        this.in = in;
+    }
+
+    /**
+     * 是否还有未读数据
+     *
+     * @return true: 有
+     */
+    public boolean hasRemaining() {
+        return in.hasRemaining();
+    }
+
+    /**
+     * 解码一条日志记录
+     *
+     * @return 日志记录
+     * @throws BizLogException 版本不支持
+     */
+    public BizLogRecord readRecord() {
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new BizLogException("unsupported BizLogRecord codec version: " + version);
+        }
+        int flags = in.get();
+        BizLogRecord.BizLogRecordBuilder builder = BizLogRecord.builder();
+        if ((flags & FLAG_ACTION) != 0) {
+            builder.action(BizActions.ofOrPlaceholder(readDictionaryString()));
+        }
+        if ((flags & FLAG_CONTENT) != 0) {
+            builder.content(readString());
+        }
+        if ((flags & FLAG_TIME) != 0) {
+            builder.time(readDateTime());
+        }
+        if ((flags & FLAG_THROWABLE) != 0) {
+            String className = readDictionaryString();
+            builder.throwable(new ThrowableSummary(className, readString()));
+        }
+        if ((flags & FLAG_EXTRA) != 0) {
+            int size = readVarint();
+            Map<String, Object> extra = new HashMap<>(Math.max(4, size * 2));
+            for (int i = 0; i < size; i++) {
+                String key = readDictionaryString();
+                extra.put(key, readValue());
+            }
+            builder.extra(extra);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 读取可为 null 的字符串
+     *
+     * @return 字符串
+     */
+    public String readString() {
+        int length = readVarint() - 1;
+        if (length < 0) {
+            return null;
+        }
+        String s;
+        if (in.hasArray()) {
+            s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            if (scratch == null || scratch.length < length) {
+                scratch = new byte[Math.max(256, length)];
+            }
+            in.get(scratch, 0, length);
+            s = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+
+    /**
+     * 读取字典字符串
+     *
+     * @return 字符串
+     */
+    public String readDictionaryString() {
+        int tag = readVarint();
+        if (tag == 0) {
+            return null;
+        }
+        if (tag == 1) {
+            String s = readString();
+            dictionary.add(s);
+            return s;
+        }
+        return dictionary.get(tag - 2);
+    }
+
+    /**
+     * 读取无符号 varint
+     *
+     * @return 整数
+     */
+    public int readVarint() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BizLogException("malformed varint");
+    }
+
+    /**
+     * 读取无符号 varlong
+     *
+     * @return 长整数
+     */
+    public long readVarlong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BizLogException("malformed varlong");
+    }
+
+    private Object readValue() {
+        byte type = in.get();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString();
+            case TYPE_INT: {
+                int v = readVarint();
+                return (v >>> 1) ^ -(v & 1);
+            }
+            case TYPE_SHORT: {
+                int v = readVarint();
+                return (short) ((v >>> 1) ^ -(v & 1));
+            }
+            case TYPE_BYTE:
+                return in.get();
+            case TYPE_LONG: {
+                long v = readVarlong();
+                return (v >>> 1) ^ -(v & 1);
+            }
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(readFixedLong());
+            case TYPE_FLOAT:
+                return Float.intBitsToFloat(readFixedInt());
+            case TYPE_DECIMAL:
+                return new BigDecimal(readString());
+            case TYPE_DATE_TIME:
+                return readDateTime();
+            default:
+                throw new BizLogException("unknown extra value type: " + type);
+        }
+    }
+
+    private LocalDateTime readDateTime() {
+        long v = readVarlong();
+        long millis = (v >>> 1) ^ -(v & 1);
+        int nanoOfMilli = readVarint();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis).plusNanos(nanoOfMilli), ZoneId.systemDefault());
+    }
+
+    private int readFixedInt() {
+        int v = 0;
+        for (int i = 0; i < 4; i++) {
+            v |= (in.get() & 0xFF) << (i * 8);
+        }
+        return v;
+    }
+
+    private long readFixedLong() {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v |= (in.get() & 0xFFL) << (i * 8);
+        }
+        return v;
+    }
+}
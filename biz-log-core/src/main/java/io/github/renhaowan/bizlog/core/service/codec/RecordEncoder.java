@@ -0,0 +1,296 @@
+package io.github.renhaowan.bizlog.core.service.codec;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.service.error.ThrowableSummary;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.renhaowan.bizlog.core.service.codec.BizLogRecordCodec.*;
+
+/**
+ * @author wan
+ * 二进制编码器（非线程安全）
+ * 内部字节数组按需扩容并复用；字典在 {@link #reset()} 之前持续累积
+ */
+public final class RecordEncoder {
+
+    private byte[] buf = new byte[256];
+    private int pos;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    /**
+     * 清空已编码的内容，保留字典（同一条流内继续编码）
+     */
+    public void clear() {
+        pos = 0;
+    }
+
+    /**
+     * 清空已编码的内容和字典（开始一条新流）
+     */
+    public void reset() {
+        pos = 0;
+        dictionary.clear();
+    }
+
+    /**
+     * 已编码的字节数
+     *
+     * @return 字节数
+     */
+    public int size() {
+        return pos;
+    }
+
+    /**
+     * 已编码内容的只读视图（下一次写入前有效，不复制）
+     *
+     * @return 缓冲区
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, pos).asReadOnlyBuffer();
+    }
+
+    /**
+     * 已编码内容的副本
+     *
+     * @return 字节数组
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, pos);
+    }
+
+    /**
+     * 编码一条日志记录
+     *
+     * @param record 日志记录
+     */
+    public void writeRecord(BizLogRecord record) {
+        int flags = 0;
+        if (record.getAction() != null) {
+            flags |= FLAG_ACTION;
+        }
+        if (record.getContent() != null) {
+            flags |= FLAG_CONTENT;
+        }
+        if (record.getTime() != null) {
+            flags |= FLAG_TIME;
+        }
+        if (record.getThrowable() != null) {
+            flags |= FLAG_THROWABLE;
+        }
+        if (record.getExtra() != null) {
+            flags |= FLAG_EXTRA;
+        }
+        ensure(2);
+        buf[pos++] = VERSION;
+        buf[pos++] = (byte) flags;
+        if (record.getAction() != null) {
+            writeDictionaryString(record.getAction().getCode());
+        }
+        if (record.getContent() != null) {
+            writeString(record.getContent());
+        }
+        if (record.getTime() != null) {
+            writeDateTime(record.getTime());
+        }
+        Throwable thrown = record.getThrowable();
+        if (thrown != null) {
+            writeDictionaryString(thrown instanceof ThrowableSummary s ? s.getClassName() : thrown.getClass().getName());
+            writeString(thrown.getMessage());
+        }
+        Map<String, Object> extra = record.getExtra();
+        if (extra != null) {
+            writeVarint(extra.size());
+            for (Map.Entry<String, Object> entry : extra.entrySet()) {
+                writeDictionaryString(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 写入可为 null 的字符串
+     *
+     * @param s 字符串
+     */
+    public void writeString(String s) {
+        if (s == null) {
+            writeVarint(0);
+            return;
+        }
+        int length = utf8Length(s);
+        writeVarint(length + 1);
+        ensure(length);
+        writeUtf8(s);
+    }
+
+    /**
+     * 写入字典字符串：流内首次出现时写全文，之后只写下标
+     *
+     * @param s 字符串
+     */
+    public void writeDictionaryString(String s) {
+        if (s == null) {
+            writeVarint(0);
+            return;
+        }
+        Integer index = dictionary.get(s);
+        if (index != null) {
+            writeVarint(index + 2);
+            return;
+        }
+        dictionary.put(s, dictionary.size());
+        writeVarint(1);
+        writeString(s);
+    }
+
+    /**
+     * 写入无符号 varint
+     *
+     * @param value 非负整数
+     */
+    public void writeVarint(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    /**
+     * 写入无符号 varlong
+     *
+     * @param value 非负长整数
+     */
+    public void writeVarlong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    // 类型标记 + 值；不支持的类型按 String.valueOf 保存
+    private void writeValue(Object value) {
+        ensure(1);
+        if (value == null) {
+            buf[pos++] = TYPE_NULL;
+        } else if (value instanceof String s) {
+            buf[pos++] = TYPE_STRING;
+            writeString(s);
+        } else if (value instanceof Integer i) {
+            buf[pos++] = TYPE_INT;
+            writeVarint((i << 1) ^ (i >> 31));
+        } else if (value instanceof Short s) {
+            buf[pos++] = TYPE_SHORT;
+            writeVarint((s << 1) ^ (s >> 31));
+        } else if (value instanceof Byte b) {
+            ensure(2);
+            buf[pos++] = TYPE_BYTE;
+            buf[pos++] = b;
+        } else if (value instanceof Long l) {
+            buf[pos++] = TYPE_LONG;
+            writeVarlong((l << 1) ^ (l >> 63));
+        } else if (value instanceof Boolean b) {
+            buf[pos++] = b ? TYPE_TRUE : TYPE_FALSE;
+        } else if (value instanceof Double d) {
+            buf[pos++] = TYPE_DOUBLE;
+            writeFixedLong(Double.doubleToRawLongBits(d));
+        } else if (value instanceof Float f) {
+            buf[pos++] = TYPE_FLOAT;
+            writeFixedInt(Float.floatToRawIntBits(f));
+        } else if (value instanceof BigDecimal d) {
+            buf[pos++] = TYPE_DECIMAL;
+            writeString(d.toString());
+        } else if (value instanceof LocalDateTime t) {
+            buf[pos++] = TYPE_DATE_TIME;
+            writeDateTime(t);
+        } else {
+            buf[pos++] = TYPE_STRING;
+            writeString(String.valueOf(value));
+        }
+    }
+
+    // 纪元毫秒（zigzag varlong）+ 毫秒内纳秒（varint），按系统时区换算
+    private void writeDateTime(LocalDateTime time) {
+        ZonedDateTime zoned = time.atZone(ZoneId.systemDefault());
+        long millis = zoned.toEpochSecond() * 1000 + time.getNano() / 1_000_000;
+        writeVarlong((millis << 1) ^ (millis >> 63));
+        writeVarint(time.getNano() % 1_000_000);
+    }
+
+    private void writeFixedInt(int v) {
+        ensure(4);
+        for (int i = 0; i < 4; i++) {
+            buf[pos++] = (byte) (v >>> (i * 8));
+        }
+    }
+
+    private void writeFixedLong(long v) {
+        ensure(8);
+        for (int i = 0; i < 8; i++) {
+            buf[pos++] = (byte) (v >>> (i * 8));
+        }
+    }
+
+    private void writeUtf8(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 不成对的代理项按 '?' 编码，与 String.getBytes(UTF_8) 一致
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private void ensure(int bytes) {
+        if (pos + bytes > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + bytes));
+        }
+    }
+}
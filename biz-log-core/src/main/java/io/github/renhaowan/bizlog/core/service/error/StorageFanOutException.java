@@ -0,0 +1,37 @@
+package io.github.renhaowan.bizlog.core.service.error;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 并行写入多个存储器时的汇总异常：包含每个失败（或超时）存储器的异常
+ * 各存储器的异常同时作为 suppressed 异常附加，便于直接打印
+ */
+@Getter
+public class StorageFanOutException extends BizLogException {
+
+    /**
+     * 存储器名称 -> 异常（超时为 {@link java.util.concurrent.TimeoutException}）
+     */
+    private final Map<String, Throwable> failures;
+
+    /**
+     * 参与写入的存储器数量
+     */
+    private final int storageCount;
+
+    /**
+     * 构造方法
+     * @param failures     存储器名称 -> 异常
+     * @param storageCount 参与写入的存储器数量
+     */
+    public StorageFanOutException(Map<String, Throwable> failures, int storageCount) {
+        super(failures.size() + " of " + storageCount + " storages failed: " + failures.keySet());
+        this.failures = Collections.unmodifiableMap(failures);
+        this.storageCount = storageCount;
+        failures.values().forEach(this::addSuppressed);
+    }
+}
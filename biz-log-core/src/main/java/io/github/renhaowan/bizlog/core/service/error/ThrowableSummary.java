@@ -0,0 +1,31 @@
+package io.github.renhaowan.bizlog.core.service.error;
+
+import lombok.Getter;
+
+/**
+ * @author wan
+ * 异常摘要
+ * 日志记录经过序列化（预写日志重放、文件读取等）后，原始异常只保留类名和消息，以本类型代替，不含堆栈
+ */
+@Getter
+public class ThrowableSummary extends RuntimeException {
+
+    // 原始异常类名
+    private final String className;
+
+    /**
+     * 构造方法
+     * @param className 原始异常类名
+     * @param message   原始异常消息
+     */
+    public ThrowableSummary(String className, String message) {
+        super(message, null, false, false);
+        this.className = className;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return message != null ? className + ": " + message : className;
+    }
+}
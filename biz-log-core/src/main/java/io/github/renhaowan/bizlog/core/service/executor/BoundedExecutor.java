@@ -0,0 +1,79 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 带准入上限的执行器：在途任务数达到上限时拒绝新任务
+ * 每任务一个线程的执行器（虚拟线程）本身从不拒绝，包一层准入许可后，队列溢出策略（biz.log.async.overflow）才能生效
+ */
+final class BoundedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final Semaphore permits;
+    private final int limit;
+
+    /**
+     * @param delegate 实际执行任务的执行器
+     * @param limit    最大在途任务数
+     */
+    BoundedExecutor(Executor delegate, int limit) {
+        this.delegate = delegate;
+        this.limit = Math.max(1, limit);
+        this.permits = new Semaphore(this.limit);
+    }
+
+    /**
+     * @throws RejectedExecutionException 在途任务数已达上限，或底层执行器拒绝
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("biz-log in-flight tasks reached " + limit);
+        }
+        submit(task);
+    }
+
+    /**
+     * 在途任务数已达上限时最多等待指定时间
+     *
+     * @param task    任务
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     * @return false: 超时仍无空位
+     * @throws InterruptedException       等待时被中断
+     * @throws RejectedExecutionException 底层执行器拒绝（如已关闭）
+     */
+    boolean execute(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!permits.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        submit(task);
+        return true;
+    }
+
+    /**
+     * @return 在途（已提交未完成）的任务数
+     */
+    int getInFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
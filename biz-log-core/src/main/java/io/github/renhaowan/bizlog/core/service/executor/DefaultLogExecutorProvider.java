@@ -24,8 +24,8 @@ public class DefaultLogExecutorProvider implements LogExecutorProvider {
         // 优雅停机
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(prop.getAsync().getAwaitTermination());
-        // 线程池满时，调用方运行
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // 线程池满时拒绝，由 BizLogManager 按溢出策略（biz.log.async.overflow）处理
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         executor.initialize(); // 触发 afterPropertiesSet
     }
 
@@ -0,0 +1,165 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * @author wan
+ * 线程池异步引擎：每条日志提交一个任务
+ * 线程池拒绝时返回 false，由调用方按溢出策略处理；能拿到底层 ThreadPoolExecutor 时支持阻塞入队和移除最早的任务，
+ * 虚拟线程执行器支持阻塞等待在途名额（任务已在运行，不能移除最早的任务）
+ */
+public class ExecutorLogDispatcher implements LogDispatcher {
+
+    private final Executor executor;
+    private final ThreadPoolExecutor pool;
+    // 带在途上限的执行器（虚拟线程），否则为 null
+    private final BoundedExecutor bounded;
+    private final Consumer<LogEvent> deliver;
+    private final BiConsumer<BizLogRecord, Throwable> onError;
+
+    /**
+     * @param executor 线程池
+     * @param deliver  存储动作（失败时抛出异常）
+     * @param onError  错误回调
+     */
+    public ExecutorLogDispatcher(Executor executor, Consumer<LogEvent> deliver,
+                                 BiConsumer<BizLogRecord, Throwable> onError) {
+        this.executor = executor;
+        this.deliver = deliver;
+        this.onError = onError;
+        if (executor instanceof ThreadPoolTaskExecutor t) {
+            this.pool = t.getThreadPoolExecutor();
+        } else if (executor instanceof ThreadPoolExecutor t) {
+            this.pool = t;
+        } else {
+            this.pool = null;
+        }
+        this.bounded = executor instanceof BoundedExecutor b ? b : null;
+    }
+
+    @Override
+    public boolean offer(LogEvent event) {
+        return execute(new LogTask(event, null));
+    }
+
+    /**
+     * 非阻塞入队，执行结果通过 future 通知调用方（不经过错误回调）
+     *
+     * @param event  日志事件
+     * @param future 执行结果
+     * @return false: 线程池拒绝
+     */
+    public boolean offer(LogEvent event, CompletableFuture<Void> future) {
+        return execute(new LogTask(event, future));
+    }
+
+    @Override
+    public boolean offer(LogEvent event, long timeout, TimeUnit unit) {
+        LogTask task = new LogTask(event, null);
+        if (execute(task)) {
+            return true;
+        }
+        if (bounded != null) {
+            try {
+                return bounded.execute(task, timeout, unit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+        if (pool == null || pool.isShutdown()) {
+            return false;
+        }
+        try {
+            // 直接放入线程池队列：线程池已满负荷，工作线程空闲后会从队列取走
+            return pool.getQueue().offer(task, timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public LogEvent evictOldest() {
+        if (pool == null) {
+            return null;
+        }
+        Runnable oldest = pool.getQueue().poll();
+        if (oldest instanceof LogTask task) {
+            if (task.future != null) {
+                task.future.completeExceptionally(new RejectedExecutionException("biz-log task dropped"));
+            }
+            return task.event;
+        }
+        if (oldest != null) {
+            // 不是日志任务（共享线程池）：不能丢，由当前线程执行
+            oldest.run();
+        }
+        return null;
+    }
+
+    /**
+     * @return 线程池队列中待执行的任务数（虚拟线程为在途任务数），拿不到底层 ThreadPoolExecutor 时返回 -1
+     */
+    public int getQueueSize() {
+        if (bounded != null) {
+            return bounded.getInFlight();
+        }
+        return pool == null ? -1 : pool.getQueue().size();
+    }
+
+    /**
+     * @return 正在执行任务的线程数（近似值），拿不到底层 ThreadPoolExecutor 时返回 -1
+     */
+    public int getActiveCount() {
+        return pool == null ? -1 : pool.getActiveCount();
+    }
+
+    private boolean execute(LogTask task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 日志任务：持有事件本身，便于溢出时取回
+     */
+    private final class LogTask implements Runnable {
+        private final LogEvent event;
+        private final CompletableFuture<Void> future;
+
+        LogTask(LogEvent event, CompletableFuture<Void> future) {
+            this.event = event;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            try {
+                deliver.accept(event);
+                if (future != null) {
+                    future.complete(null);
+                }
+            } catch (Throwable e) {
+                if (future != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    onError.accept(event.getRecord(), e);
+                }
+                event.discard();
+            } finally {
+                event.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author wan
+ * 异步入队统计（无锁计数）
+ */
+public final class LogDispatchStats {
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * @return 成功入队的日志数
+     */
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return 因队列溢出被丢弃的日志数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return 因队列溢出由业务线程直接存储的日志数
+     */
+    public long getCallerRuns() {
+        return callerRuns.sum();
+    }
+
+    /**
+     * @return 因队列溢出交给兜底存储器的日志数
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * 记录一次成功入队
+     */
+    public void onAccepted() {
+        accepted.increment();
+    }
+
+    /**
+     * 记录一次丢弃
+     */
+    public void onDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * 记录一次业务线程直接存储
+     */
+    public void onCallerRuns() {
+        callerRuns.increment();
+    }
+
+    /**
+     * 记录一次交给兜底存储器
+     */
+    public void onFallback() {
+        fallbacks.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "LogDispatchStats{accepted=" + getAccepted() + ", dropped=" + getDropped()
+                + ", callerRuns=" + getCallerRuns() + ", fallbacks=" + getFallbacks() + "}";
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 异步引擎：把日志事件交给后台线程存储
+ * 只负责入队，队列满时的处理（溢出策略）由 BizLogManager 统一决定
+ */
+public interface LogDispatcher {
+
+    /**
+     * 非阻塞入队
+     *
+     * @param event 日志事件
+     * @return false: 队列已满或引擎已停止
+     */
+    boolean offer(LogEvent event);
+
+    /**
+     * 阻塞入队，最多等待指定时间
+     *
+     * @param event   日志事件
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return false: 超时仍未入队
+     */
+    boolean offer(LogEvent event, long timeout, TimeUnit unit);
+
+    /**
+     * 移除队列中最早的日志事件
+     *
+     * @return 被移除的事件；队列为空或不支持时返回 null
+     */
+    LogEvent evictOldest();
+}
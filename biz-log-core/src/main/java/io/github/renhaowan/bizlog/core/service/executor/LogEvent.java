@@ -0,0 +1,155 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.service.pool.PooledBizLogRecord;
+import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
+import io.github.renhaowan.bizlog.core.service.wal.WalEntry;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * @author wan
+ * 待存储的日志事件：日志记录 + 目标存储器
+ * 异步引擎（线程池 / 环形缓冲区）之间传递的最小单元
+ * 延迟渲染时 record 先是只含动作、异常和时间的部分记录，由异步线程调用 {@link #render()} 补全
+ * 启用对象池时，处理完事件的一方（工作线程、溢出处理）最后调用一次 {@link #release()}
+ */
+public final class LogEvent {
+    // 日志记录
+    @Getter
+    private BizLogRecord record;
+
+    // 存储器名称（storages 为 null 时按名称解析）
+    @Getter
+    private final String[] storageBeanName;
+
+    // 已解析的存储器
+    @Getter
+    private final List<AbstractLogStorage> storages;
+
+    // 延迟渲染（为 null 表示已渲染）
+    private Supplier<BizLogRecord> renderer;
+
+    // 预写日志条目（未预写时为 null）
+    @Getter
+    private WalEntry walEntry;
+
+    // 预写时的目标存储器，确认下标与之对应
+    private List<AbstractLogStorage> walTargets;
+
+    // 入队时间（System.nanoTime，未启用指标或未入队时为 0）
+    @Getter
+    @Setter
+    private long enqueuedNanos;
+
+    /**
+     * @param record          日志记录
+     * @param storageBeanName 存储器名称
+     * @param storages        已解析的存储器
+     */
+    public LogEvent(BizLogRecord record, String[] storageBeanName, List<AbstractLogStorage> storages) {
+        this(record, storageBeanName, storages, null);
+    }
+
+    /**
+     * @param record          日志记录（延迟渲染时为部分记录）
+     * @param storageBeanName 存储器名称
+     * @param storages        已解析的存储器
+     * @param renderer        延迟渲染
+     */
+    public LogEvent(BizLogRecord record, String[] storageBeanName, List<AbstractLogStorage> storages,
+                    Supplier<BizLogRecord> renderer) {
+        this.record = record;
+        this.storageBeanName = storageBeanName;
+        this.storages = storages;
+        this.renderer = renderer;
+    }
+
+    /**
+     * 渲染日志记录（只执行一次，失败时 record 保持为部分记录）
+     *
+     * @return 完整的日志记录
+     */
+    public BizLogRecord render() {
+        Supplier<BizLogRecord> r = renderer;
+        if (r != null) {
+            renderer = null;
+            record = r.get();
+        }
+        return record;
+    }
+
+    /**
+     * 是否已渲染
+     *
+     * @return true: record 为完整的日志记录
+     */
+    public boolean isRendered() {
+        return renderer == null;
+    }
+
+    /**
+     * 增加一次日志记录的引用（对象池中的日志记录交给异步存储器通道时调用，否则无操作）
+     */
+    public void retain() {
+        if (record instanceof PooledBizLogRecord pooled) {
+            pooled.retain();
+        }
+    }
+
+    /**
+     * 释放一次日志记录的引用，归零时归还对象池（不是对象池中的日志记录时无操作）
+     */
+    public void release() {
+        if (record instanceof PooledBizLogRecord pooled) {
+            pooled.release();
+        }
+    }
+
+    /**
+     * 日志记录可能被存储器或错误处理器持有：引用归零后不再复用（不是对象池中的日志记录时无操作）
+     */
+    public void discard() {
+        if (record instanceof PooledBizLogRecord pooled) {
+            pooled.discard();
+        }
+    }
+
+    /**
+     * 关联预写日志条目
+     *
+     * @param walEntry 条目句柄
+     * @param targets  预写时的目标存储器
+     */
+    public void attach(WalEntry walEntry, List<AbstractLogStorage> targets) {
+        this.walEntry = walEntry;
+        this.walTargets = targets;
+    }
+
+    /**
+     * 确认指定存储器已写入成功，重启后不再向它重放（未预写时无操作）
+     *
+     * @param storage 处理完的存储器
+     */
+    public void ack(AbstractLogStorage storage) {
+        if (walEntry != null) {
+            int index = walTargets.indexOf(storage);
+            if (index >= 0) {
+                walEntry.ack(index);
+            }
+        }
+    }
+
+    /**
+     * 整条日志不再写入任何存储器（渲染或路由失败、已写入兜底存储器）：
+     * 标记预写日志条目完成，重启后不再重放（未预写时无操作）
+     */
+    public void complete() {
+        if (walEntry != null) {
+            walEntry.complete();
+        }
+    }
+}
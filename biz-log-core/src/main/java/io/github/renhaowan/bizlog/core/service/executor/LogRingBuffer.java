@@ -0,0 +1,119 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author wan
+ * 有界多生产者多消费者环形缓冲区（无锁）
+ * 槽位预分配，每个槽位带序号：生产者/消费者各自 CAS 抢占位置，按序号判断槽位是否可写/可读，
+ * 入队不产生任何节点对象
+ *
+ * @param <E> 元素类型
+ */
+final class LogRingBuffer<E> {
+
+    private final int mask;
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePos = new AtomicLong();
+    private final AtomicLong dequeuePos = new AtomicLong();
+
+    /**
+     * @param capacity 容量（向上取整为 2 的幂）
+     */
+    LogRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.items = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素
+     *
+     * @param e 元素
+     * @return false: 缓冲区已满
+     */
+    boolean offer(E e) {
+        long pos = enqueuePos.get();
+        for (; ; ) {
+            int idx = (int) (pos & mask);
+            long dif = sequences.get(idx) - pos;
+            if (dif == 0) {
+                if (enqueuePos.compareAndSet(pos, pos + 1)) {
+                    items[idx] = e;
+                    sequences.set(idx, pos + 1);
+                    return true;
+                }
+                pos = enqueuePos.get();
+            } else if (dif < 0) {
+                return false;
+            } else {
+                pos = enqueuePos.get();
+            }
+        }
+    }
+
+    /**
+     * 取出元素
+     *
+     * @return 元素；缓冲区为空时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long pos = dequeuePos.get();
+        for (; ; ) {
+            int idx = (int) (pos & mask);
+            long dif = sequences.get(idx) - (pos + 1);
+            if (dif == 0) {
+                if (dequeuePos.compareAndSet(pos, pos + 1)) {
+                    E e = (E) items[idx];
+                    items[idx] = null;
+                    sequences.set(idx, pos + mask + 1);
+                    return e;
+                }
+                pos = dequeuePos.get();
+            } else if (dif < 0) {
+                return null;
+            } else {
+                pos = dequeuePos.get();
+            }
+        }
+    }
+
+    /**
+     * 批量取出元素
+     *
+     * @param batch 目标列表
+     * @param max   最多取出的个数
+     * @return 实际取出的个数
+     */
+    int drainTo(List<E> batch, int max) {
+        int n = 0;
+        E e;
+        while (n < max && (e = poll()) != null) {
+            batch.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @return 当前元素个数（近似值）
+     */
+    int size() {
+        return (int) Math.max(0, enqueuePos.get() - dequeuePos.get());
+    }
+
+    /**
+     * @return 容量
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
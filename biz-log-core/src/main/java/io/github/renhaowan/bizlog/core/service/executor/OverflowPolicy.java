@@ -0,0 +1,33 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+/**
+ * @author wan
+ * 异步队列溢出策略：线程池 / 环形缓冲区已满时如何处理新日志
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 由业务线程直接存储（不丢日志，但慢存储会拖慢业务）
+     */
+    CALLER_RUNS,
+
+    /**
+     * 丢弃新日志（不拖慢业务）
+     */
+    DROP_NEWEST,
+
+    /**
+     * 丢弃队列中最早的日志，为新日志腾出位置
+     */
+    DROP_OLDEST,
+
+    /**
+     * 阻塞等待空位，超时后丢弃
+     */
+    BLOCK,
+
+    /**
+     * 交给兜底存储器（如控制台、本地文件）同步存储
+     */
+    FALLBACK
+}
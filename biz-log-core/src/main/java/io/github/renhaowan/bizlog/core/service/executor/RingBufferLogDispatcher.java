@@ -0,0 +1,181 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * @author wan
+ * 环形缓冲区异步引擎
+ * 业务线程把日志事件写入有界环形缓冲区，由固定的消费者线程批量取出后交给处理器，
+ * 相比每条日志提交一个 CompletableFuture 任务，省去了任务对象、Future 与队列节点的分配和线程池的交接开销；
+ * 缓冲区已满或引擎已停止时入队失败，由调用方按溢出策略处理
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class RingBufferLogDispatcher implements LogDispatcher {
+
+    private final LogRingBuffer<LogEvent> ringBuffer;
+    private final Consumer<List<LogEvent>> handler;
+    private final WaitStrategy waitStrategy;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long awaitTerminationMillis;
+    private final Thread[] consumers;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param async   异步配置
+     * @param handler 批量事件处理器（在消费者线程执行）
+     */
+    public RingBufferLogDispatcher(BizLogProperties.Async async, Consumer<List<LogEvent>> handler) {
+        BizLogProperties.Async.RingBuffer conf = async.getRingBuffer();
+        this.ringBuffer = new LogRingBuffer<>(conf.getBufferSize());
+        this.handler = handler;
+        this.waitStrategy = conf.getWaitStrategy();
+        this.batchSize = Math.max(1, conf.getBatchSize());
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, conf.getLingerMs()));
+        this.awaitTerminationMillis = TimeUnit.SECONDS.toMillis(async.getAwaitTermination());
+        this.consumers = new Thread[Math.max(1, conf.getConsumers())];
+        for (int i = 0; i < consumers.length; i++) {
+            Thread t = new Thread(this::consume, LogConstant.BIZ_LOG + "-ring-" + (i + 1));
+            t.setDaemon(true);
+            consumers[i] = t;
+            t.start();
+        }
+    }
+
+    @Override
+    public boolean offer(LogEvent event) {
+        if (!running || !ringBuffer.offer(event)) {
+            return false;
+        }
+        afterOffer();
+        return true;
+    }
+
+    /**
+     * 缓冲区已满时按等待策略等待空位，最多等待指定时间
+     */
+    @Override
+    public boolean offer(LogEvent event, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (running) {
+            if (ringBuffer.offer(event)) {
+                afterOffer();
+                return true;
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            waitStrategy.idle(attempt);
+            attempt = next(attempt);
+        }
+        return false;
+    }
+
+    @Override
+    public LogEvent evictOldest() {
+        return ringBuffer.poll();
+    }
+
+    /**
+     * @return 缓冲区中待处理的事件数（近似值）
+     */
+    public int getQueueSize() {
+        return ringBuffer.size();
+    }
+
+    /**
+     * @return 缓冲区容量
+     */
+    public int getCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    /**
+     * 停止引擎：消费者处理完缓冲区中剩余事件后退出，最多等待 awaitTermination 秒
+     */
+    public void shutdown() {
+        running = false;
+        long deadline = System.currentTimeMillis() + awaitTerminationMillis;
+        for (Thread t : consumers) {
+            try {
+                t.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // 兜底：停止过程中写入的事件由当前线程处理
+        drainRest();
+    }
+
+    // 检查 running 与写入缓冲区不是原子的：写入后发现已停止时，这条事件可能晚于 shutdown 的兜底处理，由写入线程自己处理
+    private void afterOffer() {
+        if (!running) {
+            drainRest();
+        }
+    }
+
+    private void drainRest() {
+        List<LogEvent> rest = new ArrayList<>();
+        ringBuffer.drainTo(rest, Integer.MAX_VALUE);
+        if (!rest.isEmpty()) {
+            handle(rest);
+        }
+    }
+
+    // 消费者主循环：批量取出，未凑满一批时按等待策略最多等待 linger 时间
+    private void consume() {
+        List<LogEvent> batch = new ArrayList<>(batchSize);
+        int idle = 0;
+        while (running || ringBuffer.size() > 0) {
+            int n = ringBuffer.drainTo(batch, batchSize);
+            if (n == 0) {
+                if (!running) {
+                    break;
+                }
+                waitStrategy.idle(idle);
+                idle = next(idle);
+                continue;
+            }
+            idle = 0;
+            if (n < batchSize && lingerNanos > 0) {
+                long deadline = System.nanoTime() + lingerNanos;
+                int lingered = 0;
+                while (n < batchSize && System.nanoTime() < deadline) {
+                    int m = ringBuffer.drainTo(batch, batchSize - n);
+                    if (m == 0) {
+                        waitStrategy.idle(lingered);
+                        lingered = next(lingered);
+                    } else {
+                        lingered = 0;
+                    }
+                    n += m;
+                }
+            }
+            handle(batch);
+            batch.clear();
+        }
+    }
+
+    // 连续空闲次数：到达上限后保持不变，长时间空闲也不会溢出为负数、重新回到自旋阶段
+    private static int next(int attempt) {
+        return attempt == Integer.MAX_VALUE ? attempt : attempt + 1;
+    }
+
+    private void handle(List<LogEvent> batch) {
+        try {
+            handler.accept(batch);
+        } catch (Throwable e) {
+            log.error("【操作日志】环形缓冲区处理异常: {}", e.getMessage(), e);
+        }
+    }
+}
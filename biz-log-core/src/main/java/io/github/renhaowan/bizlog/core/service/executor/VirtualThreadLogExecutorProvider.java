@@ -0,0 +1,98 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 虚拟线程日志执行器：每条日志一个虚拟线程，阻塞型存储器（JDBC、HTTP）的吞吐随在途 I/O 而不是线程数扩展
+ * 运行在 JDK 21 以下时回退为 {@link DefaultLogExecutorProvider} 线程池
+ * 在途日志数不超过 biz.log.async.virtual.max-in-flight，超出时按队列溢出策略处理；
+ * 对后端的并发由 LogStorageManager 按存储器限制（biz.log.async.virtual）
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class VirtualThreadLogExecutorProvider implements LogExecutorProvider {
+
+    // 虚拟线程执行器（JDK 21 以下为 null）
+    private final ExecutorService virtualExecutor;
+    // 带在途上限的虚拟线程执行器（JDK 21 以下为 null）
+    private final BoundedExecutor boundedExecutor;
+    // 回退的平台线程池（JDK 21+ 为 null）
+    private final DefaultLogExecutorProvider fallback;
+    private final int awaitTermination;
+
+    public VirtualThreadLogExecutorProvider(BizLogProperties prop) {
+        this.awaitTermination = prop.getAsync().getAwaitTermination();
+        this.virtualExecutor = newVirtualThreadExecutor(LogConstant.BIZ_LOG + "-virtual-");
+        if (virtualExecutor != null) {
+            this.boundedExecutor = new BoundedExecutor(virtualExecutor, prop.getAsync().getVirtual().getMaxInFlight());
+            this.fallback = null;
+        } else {
+            this.boundedExecutor = null;
+            log.warn("Virtual threads are not available on Java {}, fall back to platform thread pool",
+                    System.getProperty("java.version"));
+            this.fallback = new DefaultLogExecutorProvider(prop);
+        }
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return boundedExecutor != null ? boundedExecutor : fallback.getExecutor();
+    }
+
+    /**
+     * 是否运行在虚拟线程上
+     *
+     * @return false: 已回退为平台线程池
+     */
+    public boolean isVirtual() {
+        return virtualExecutor != null;
+    }
+
+    /* 由 Spring 容器在销毁时调用：等待在途日志写完 */
+    @PreDestroy
+    public void destroy() {
+        if (fallback != null) {
+            fallback.destroy();
+            return;
+        }
+        virtualExecutor.shutdown();
+        try {
+            if (!virtualExecutor.awaitTermination(awaitTermination, TimeUnit.SECONDS)) {
+                log.warn("BizLog virtual thread executor did not terminate in {}s", awaitTermination);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 反射创建虚拟线程执行器（编译目标为 JDK 17，不能直接引用 JDK 21 的 API）
+     * 等价于 Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())
+     *
+     * @param prefix 线程名前缀
+     * @return 虚拟线程执行器，不支持时返回 null
+     */
+    private static ExecutorService newVirtualThreadExecutor(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // JDK 17 无此 API；JDK 19/20 未开启预览特性时抛出 UnsupportedOperationException
+            return null;
+        }
+    }
+}
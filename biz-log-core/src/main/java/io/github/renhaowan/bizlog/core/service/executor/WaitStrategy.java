@@ -0,0 +1,62 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author wan
+ * 环形缓冲区等待策略：消费者无数据可取、生产者无空位可写时如何等待
+ */
+public enum WaitStrategy {
+
+    /**
+     * 自旋后让出 CPU，最后短暂休眠（默认，空闲时几乎不占 CPU）
+     */
+    PARK {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    },
+
+    /**
+     * 自旋后让出 CPU（延迟更低，空闲时占用 CPU）
+     */
+    YIELD {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    /**
+     * 忙等（延迟最低，独占一个 CPU 核心）
+     */
+    SPIN {
+        @Override
+        public void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * 空闲等待一次
+     *
+     * @param attempt 连续空闲次数（从 0 开始）
+     */
+    public abstract void idle(int attempt);
+}
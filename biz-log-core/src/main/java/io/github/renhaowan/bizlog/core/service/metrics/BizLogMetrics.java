@@ -0,0 +1,79 @@
+package io.github.renhaowan.bizlog.core.service.metrics;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.service.BizLogManager;
+import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
+
+/**
+ * @author wan
+ * 日志链路指标（SPI）
+ * 切面、模板解析、队列等待和存储器写入各阶段的耗时，以及错误数；默认实现 {@link #NOOP} 不做任何事，
+ * {@link #isEnabled()} 为 false 时调用方连 System.nanoTime() 都不调用
+ */
+public interface BizLogMetrics {
+
+    /**
+     * 不记录指标
+     */
+    BizLogMetrics NOOP = new BizLogMetrics() {
+    };
+
+    /**
+     * @return false: 不记录指标，调用方跳过计时
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * 绑定日志管理器（启动时调用一次），用于注册队列长度、活跃线程数和入队统计等按需读取的指标
+     *
+     * @param manager 日志管理器
+     */
+    default void bind(BizLogManager manager) {
+    }
+
+    /**
+     * 切面开销：方法执行完后构建上下文、解析和入队（或同步写入）的耗时，不含业务方法本身
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    default void recordAspect(long nanos) {
+    }
+
+    /**
+     * 单次模板解析耗时
+     *
+     * @param parser 实际使用的解析器
+     * @param nanos  耗时（纳秒）
+     */
+    default void recordParse(LogTemplateParser parser, long nanos) {
+    }
+
+    /**
+     * 异步日志从入队到被工作线程取出的等待时间
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    default void recordQueueWait(long nanos) {
+    }
+
+    /**
+     * 单个存储器一次写入（单条或整批）的耗时
+     *
+     * @param beanName 存储器名称
+     * @param nanos    耗时（纳秒）
+     * @param success  是否成功
+     */
+    default void recordStore(String beanName, long nanos, boolean success) {
+    }
+
+    /**
+     * 交给 LogErrorHandler 的错误
+     *
+     * @param record 日志记录
+     * @param ex     异常
+     */
+    default void onError(BizLogRecord record, Throwable ex) {
+    }
+}
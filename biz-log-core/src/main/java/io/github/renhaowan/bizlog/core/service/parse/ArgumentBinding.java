@@ -0,0 +1,78 @@
+package io.github.renhaowan.bizlog.core.service.parse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 方法参数名与实参下标的对应表
+ * 每个方法只构建一次，由调用计划持有并在各次调用间共享；解析上下文直接携带原始实参数组，按下标取值，不再为每次调用复制一个参数 Map
+ */
+public final class ArgumentBinding {
+
+    // 参数较少时线性查找比哈希更快，超过该数量才建索引
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    /**
+     * 无参数
+     */
+    public static final ArgumentBinding EMPTY = new ArgumentBinding(new String[0]);
+
+    private final String[] names;
+    // 参数名 -> 下标（参数较多时才创建）
+    private final Map<String, Integer> indexes;
+
+    private ArgumentBinding(String[] names) {
+        this.names = names;
+        if (names.length > LINEAR_SCAN_LIMIT) {
+            this.indexes = new HashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                indexes.putIfAbsent(names[i], i);
+            }
+        } else {
+            this.indexes = null;
+        }
+    }
+
+    /**
+     * @param names 参数名（与实参下标一一对应，null 表示无参数名）
+     * @return 参数对应表
+     */
+    public static ArgumentBinding of(String[] names) {
+        return names == null || names.length == 0 ? EMPTY : new ArgumentBinding(names.clone());
+    }
+
+    /**
+     * 按参数名查找下标
+     *
+     * @param name 参数名
+     * @return 下标，没有该参数时返回 -1
+     */
+    public int indexOf(String name) {
+        if (indexes != null) {
+            Integer index = indexes.get(name);
+            return index != null ? index : -1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index 下标
+     * @return 参数名
+     */
+    public String nameAt(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return 参数个数
+     */
+    public int size() {
+        return names.length;
+    }
+}
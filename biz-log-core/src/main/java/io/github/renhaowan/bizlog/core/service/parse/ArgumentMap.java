@@ -0,0 +1,74 @@
+package io.github.renhaowan.bizlog.core.service.parse;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * @author wan
+ * 实参数组的只读 Map 视图（参数名 -> 实参），兼容按 Map 读取参数的自定义解析器
+ */
+final class ArgumentMap extends AbstractMap<String, Object> {
+
+    private final ArgumentBinding binding;
+    private final Object[] values;
+
+    ArgumentMap(ArgumentBinding binding, Object[] values) {
+        this.binding = binding;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return Math.min(binding.size(), values.length);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && index(name) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int i = key instanceof String name ? index(name) : -1;
+        return i >= 0 ? values[i] : null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return new SimpleImmutableEntry<>(binding.nameAt(i), values[i]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ArgumentMap.this.size();
+            }
+        };
+    }
+
+    private int index(String name) {
+        int i = binding.indexOf(name);
+        return i < values.length ? i : -1;
+    }
+}
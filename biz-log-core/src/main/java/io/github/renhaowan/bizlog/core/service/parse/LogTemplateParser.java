@@ -22,4 +22,30 @@ public interface LogTemplateParser {
     default boolean support(String template) {
         return true;
     }
+
+    /**
+     * 预编译模板（启动时调用），结果放入解析器自身的缓存
+     * @param template 模板
+     * @throws RuntimeException 模板语法错误
+     */
+    default void precompile(String template) {
+    }
+
+    /**
+     * 预热：使用样例上下文求值若干次（如让 SpEL 在流量到来前完成编译），求值失败时停止
+     * @param template   模板
+     * @param ctx        样例上下文
+     * @param iterations 求值次数
+     * @return 是否全部求值成功
+     */
+    default boolean warmUp(String template, ParseContext ctx, int iterations) {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                parse(template, ctx);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
 }
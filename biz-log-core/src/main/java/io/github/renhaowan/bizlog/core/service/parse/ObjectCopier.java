@@ -0,0 +1,85 @@
+package io.github.renhaowan.bizlog.core.service.parse;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author wan
+ * 按类缓存的浅拷贝器：无参构造器 + 逐字段复制（一层，字段引用的对象不再拷贝）
+ * 反射元数据每个类只收集一次；无法拷贝的类型（JDK 类型、枚举、record、无无参构造器）返回原对象
+ */
+final class ObjectCopier {
+
+    private static final ClassValue<ObjectCopier> COPIERS = new ClassValue<>() {
+        @Override
+        protected ObjectCopier computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    // 不可拷贝时的占位
+    private static final ObjectCopier UNSUPPORTED = new ObjectCopier(null, new Field[0]);
+
+    private final Constructor<?> constructor;
+    private final Field[] fields;
+
+    private ObjectCopier(Constructor<?> constructor, Field[] fields) {
+        this.constructor = constructor;
+        this.fields = fields;
+    }
+
+    /**
+     * 拷贝对象
+     *
+     * @param value 原对象
+     * @return 拷贝，不可拷贝时返回原对象
+     */
+    static Object copy(Object value) {
+        if (value == null) {
+            return null;
+        }
+        ObjectCopier copier = COPIERS.get(value.getClass());
+        if (copier == UNSUPPORTED) {
+            return value;
+        }
+        try {
+            Object copy = copier.constructor.newInstance();
+            for (Field field : copier.fields) {
+                field.set(copy, field.get(value));
+            }
+            return copy;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return value;
+        }
+    }
+
+    private static ObjectCopier create(Class<?> type) {
+        String name = type.getName();
+        if (type.isArray() || type.isEnum() || type.isRecord() || type.isInterface() || type.isSynthetic()
+                || Modifier.isAbstract(type.getModifiers())
+                || name.startsWith("java.") || name.startsWith("javax.")
+                || name.startsWith("jdk.") || name.startsWith("sun.")) {
+            return UNSUPPORTED;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return new ObjectCopier(constructor, fields.toArray(new Field[0]));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // 无无参构造器或模块不可访问
+            return UNSUPPORTED;
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.util.Map;
  * 解析上下文
  * 把所有运行时数据打包成一个不可变对象
  * 在 AOP 切面里一次性把所有可能与模板相关的数据收集进来，交给解析器；解析器不再关心底
+ * <p>实参有两种形式：切面直接携带原始实参数组和方法共享的 {@link ArgumentBinding}（按下标取值，不复制）；
+ * 手动构建时也可以直接传入参数 Map。解析器统一通过 {@link #lookupArg(String, Object)} 取值</p>
  */
 @Getter
 @Builder
@@ -20,7 +22,7 @@ public final class ParseContext {
     // 被拦截的方法
     private final Method method;
 
-    // 原始实参
+    // 原始实参（参数名 -> 实参），使用实参数组时为 null，见 getArgs()
     private final Map<String, Object> args;
 
     // 方法返回值（异常时为 null）
@@ -31,4 +33,68 @@ public final class ParseContext {
 
     // 用户自定义额外变量
     private final Map<String, Object> extra;
-}
\ No newline at end of file
+
+    // 参数名与下标的对应表（与 argValues 一起使用）
+    private final ArgumentBinding binding;
+
+    // 原始实参数组
+    private final Object[] argValues;
+
+    /**
+     * 使用参数 Map 的解析上下文
+     *
+     * @param method   被拦截的方法
+     * @param args     原始实参
+     * @param retValue 方法返回值
+     * @param thrown   抛出的异常
+     * @param extra    用户自定义额外变量
+     */
+    public ParseContext(Method method, Map<String, Object> args, Object retValue, Throwable thrown,
+                        Map<String, Object> extra) {
+        this(method, args, retValue, thrown, extra, null, null);
+    }
+
+    /**
+     * 原始实参：使用实参数组时返回只读视图（每次调用创建，解析器应优先使用 {@link #lookupArg(String, Object)}）
+     *
+     * @return 参数名 -> 实参
+     */
+    public Map<String, Object> getArgs() {
+        if (args == null && binding != null && argValues != null) {
+            return new ArgumentMap(binding, argValues);
+        }
+        return args;
+    }
+
+    /**
+     * 按参数名查找实参
+     *
+     * @param name     参数名
+     * @param notFound 没有该参数时的返回值（用于区分参数值为 null 和没有该参数）
+     * @return 实参
+     */
+    public Object lookupArg(String name, Object notFound) {
+        if (binding != null && argValues != null) {
+            int i = binding.indexOf(name);
+            return i >= 0 && i < argValues.length ? argValues[i] : notFound;
+        }
+        if (args != null) {
+            Object value = args.get(name);
+            if (value != null || args.containsKey(name)) {
+                return value;
+            }
+        }
+        return notFound;
+    }
+
+    /**
+     * 按下标取实参（下标由参数对应表 binding 查得）
+     *
+     * @param index    下标
+     * @param notFound 不是实参数组形式或下标越界时的返回值
+     * @return 实参
+     */
+    public Object argAt(int index, Object notFound) {
+        return argValues != null && index >= 0 && index < argValues.length ? argValues[index] : notFound;
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.renhaowan.bizlog.core.service.parse;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * @author wan
+ * 参数快照策略
+ * 延迟渲染时模板在异步线程中求值，业务线程可能已经修改了入参或返回值，
+ * 入队前按策略对 #参数 和 #ret 做快照
+ */
+public enum SnapshotStrategy {
+
+    /**
+     * 不做快照，信任调用方在方法返回后不再修改入参
+     */
+    NONE {
+        @Override
+        Object copy(Object value) {
+            return value;
+        }
+    },
+
+    /**
+     * 浅拷贝容器：复制 Collection、Map、数组本身，元素仍为原对象
+     */
+    SHALLOW {
+        @Override
+        Object copy(Object value) {
+            return copyContainer(value, false);
+        }
+    },
+
+    /**
+     * 按类缓存的字段拷贝器：容器按 SHALLOW 复制并逐个拷贝元素，普通对象复制一层字段
+     * <p>JDK 类型、枚举、record 以及没有无参构造器的类保持原对象</p>
+     */
+    COPIER {
+        @Override
+        Object copy(Object value) {
+            Object container = copyContainer(value, true);
+            return container != value ? container : ObjectCopier.copy(value);
+        }
+    };
+
+    /**
+     * 对解析上下文做快照
+     *
+     * @param ctx 解析上下文
+     * @return 快照后的解析上下文（NONE 返回原对象）
+     */
+    public ParseContext snapshot(ParseContext ctx) {
+        if (this == NONE) {
+            return ctx;
+        }
+        if (ctx.getBinding() != null && ctx.getArgValues() != null) {
+            Object[] values = new Object[ctx.getArgValues().length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = copy(ctx.getArgValues()[i]);
+            }
+            return ParseContext.builder()
+                    .method(ctx.getMethod())
+                    .binding(ctx.getBinding())
+                    .argValues(values)
+                    .retValue(copy(ctx.getRetValue()))
+                    .thrown(ctx.getThrown())
+                    .extra(ctx.getExtra())
+                    .build();
+        }
+        Map<String, Object> args = null;
+        if (ctx.getArgs() != null) {
+            args = new HashMap<>(ctx.getArgs().size() * 2);
+            for (Map.Entry<String, Object> entry : ctx.getArgs().entrySet()) {
+                args.put(entry.getKey(), copy(entry.getValue()));
+            }
+        }
+        return ParseContext.builder()
+                .method(ctx.getMethod())
+                .args(args)
+                .retValue(copy(ctx.getRetValue()))
+                .thrown(ctx.getThrown())
+                .extra(ctx.getExtra())
+                .build();
+    }
+
+    /**
+     * 拷贝单个值
+     *
+     * @param value 原值
+     * @return 拷贝（不可拷贝时返回原值）
+     */
+    abstract Object copy(Object value);
+
+    // 复制容器（deep 为 true 时逐个拷贝元素），非容器返回原对象
+    private static Object copyContainer(Object value, boolean deep) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object e : list) {
+                copy.add(deep ? ObjectCopier.copy(e) : e);
+            }
+            return copy;
+        }
+        if (value instanceof Set<?> set) {
+            Set<Object> copy = new LinkedHashSet<>(set.size() * 2);
+            for (Object e : set) {
+                copy.add(deep ? ObjectCopier.copy(e) : e);
+            }
+            return copy;
+        }
+        if (value instanceof Collection<?> collection) {
+            return deep ? copyContainer(new ArrayList<>(collection), true) : new ArrayList<>(collection);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size() * 2);
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                copy.put(e.getKey(), deep ? ObjectCopier.copy(e.getValue()) : e.getValue());
+            }
+            return copy;
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            if (deep && !value.getClass().getComponentType().isPrimitive()) {
+                Object[] elements = (Object[]) copy;
+                for (int i = 0; i < length; i++) {
+                    elements[i] = ObjectCopier.copy(elements[i]);
+                }
+            }
+            return copy;
+        }
+        return value;
+    }
+}
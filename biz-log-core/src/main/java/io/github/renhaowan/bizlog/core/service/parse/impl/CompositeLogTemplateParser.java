@@ -2,6 +2,7 @@ package io.github.renhaowan.bizlog.core.service.parse.impl;
 
 import io.github.renhaowan.bizlog.core.log.BizLogProperties;
 import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import io.github.renhaowan.bizlog.core.service.metrics.BizLogMetrics;
 import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
 import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,8 @@ import java.util.List;
 public class CompositeLogTemplateParser implements LogTemplateParser {
     private final List<LogTemplateParser> chain;
     private final BizLogProperties prop;
+    // 解析耗时指标
+    private volatile BizLogMetrics metrics = BizLogMetrics.NOOP;
 
     /**
      * @param parsers 语法解析器
@@ -28,28 +31,89 @@ public class CompositeLogTemplateParser implements LogTemplateParser {
         this.chain = parsers;
     }
 
+    /**
+     * 设置指标（记录每个解析器的解析耗时）
+     *
+     * @param metrics 指标
+     */
+    public void setMetrics(BizLogMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * 遍历责任链，找到第一个支持的解析器，并调用其解析方法
      */
     @Override
     public String parse(String template, ParseContext ctx) {
+        return parse(select(template), template, ctx);
+    }
+
+    /**
+     * 使用责任链选出的解析器预编译模板
+     */
+    @Override
+    public void precompile(String template) {
+        LogTemplateParser p = select(template);
+        if (p != null) {
+            p.precompile(template);
+        }
+    }
+
+    /**
+     * 使用责任链选出的解析器预热模板
+     */
+    @Override
+    public boolean warmUp(String template, ParseContext ctx, int iterations) {
+        LogTemplateParser p = select(template);
+        return p == null || p.warmUp(template, ctx, iterations);
+    }
+
+    /**
+     * 遍历责任链，找到第一个支持该模板的解析器
+     *
+     * @param template 模板
+     * @return 解析器；没有解析器支持时返回 null
+     */
+    public LogTemplateParser select(String template) {
         for (LogTemplateParser p : chain) {
             if (p.support(template)) {
-                try {
-                    return p.parse(template, ctx);
-                } catch (Exception e) {
-                    if (prop.getParser().isFallbackToPlain()) {
-                        //解析失败回退到原文本：降级处理
-                        log.warn(p.getClass().getSimpleName() + " parse error, fallback to plain text", e);
-                        return template;
-                    } else {
-                        String name = this.getClass().getName();
-                        throw new BizLogException("LogTemplateParser error: " + name, e);
-                    }
-                }
+                return p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 使用已选定的解析器解析模板（带降级处理）
+     *
+     * @param p        由 {@link #select(String)} 选出的解析器，为 null 时原样返回
+     * @param template 模板
+     * @param ctx      运行时上下文
+     * @return 解析后的纯文本
+     */
+    public String parse(LogTemplateParser p, String template, ParseContext ctx) {
+        if (p == null) {
+            // 兜底
+            return template;
+        }
+        BizLogMetrics m = metrics;
+        boolean timed = m.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        try {
+            return p.parse(template, ctx);
+        } catch (Exception e) {
+            if (prop.getParser().isFallbackToPlain()) {
+                //解析失败回退到原文本：降级处理
+                log.warn(p.getClass().getSimpleName() + " parse error, fallback to plain text", e);
+                return template;
+            } else {
+                String name = this.getClass().getName();
+                throw new BizLogException("LogTemplateParser error: " + name, e);
+            }
+        } finally {
+            if (timed) {
+                m.recordParse(p, System.nanoTime() - start);
             }
         }
-        // 兜底
-        return template;
     }
 }
@@ -0,0 +1,116 @@
+package io.github.renhaowan.bizlog.core.service.parse.impl;
+
+import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
+import org.springframework.expression.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 单次求值的 SpEL 上下文
+ * 访问器、方法解析器、Bean 解析器、拓展函数等不变部分全部委托给共享的骨架上下文（只构建一次，反射缓存保持预热），
+ * 本类只承载本次调用的变量：方法参数、#ret、#ex、#method，以及拓展的每次求值变量和表达式中赋值产生的临时变量
+ */
+final class ScopedEvaluationContext implements EvaluationContext {
+
+    // 区分参数值为 null 和没有该参数
+    private static final Object NOT_FOUND = new Object();
+
+    private final EvaluationContext shared;
+    private final ParseContext ctx;
+
+    // 表达式内赋值产生的变量（按需创建）
+    private Map<String, Object> locals;
+
+    ScopedEvaluationContext(EvaluationContext shared, ParseContext ctx) {
+        this.shared = shared;
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+        if (locals == null) {
+            locals = new HashMap<>();
+        }
+        locals.put(name, value);
+    }
+
+    /**
+     * 变量查找顺序：临时变量（含 expandPerCall 设置的拓展变量） > #ret/#ex/#method > 方法参数 > 骨架上下文（expand 注册的变量、函数）
+     */
+    @Override
+    public Object lookupVariable(String name) {
+        if (locals != null && locals.containsKey(name)) {
+            return locals.get(name);
+        }
+        switch (name) {
+            case "ret":
+                return ctx.getRetValue();
+            case "ex":
+                return ctx.getThrown();
+            case "method":
+                return ctx.getMethod();
+            default:
+                break;
+        }
+        Object value = ctx.lookupArg(name, NOT_FOUND);
+        return value != NOT_FOUND ? value : shared.lookupVariable(name);
+    }
+
+    @Override
+    public TypedValue getRootObject() {
+        return shared.getRootObject();
+    }
+
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors() {
+        return shared.getPropertyAccessors();
+    }
+
+    @Override
+    public List<IndexAccessor> getIndexAccessors() {
+        return shared.getIndexAccessors();
+    }
+
+    @Override
+    public List<ConstructorResolver> getConstructorResolvers() {
+        return shared.getConstructorResolvers();
+    }
+
+    @Override
+    public List<MethodResolver> getMethodResolvers() {
+        return shared.getMethodResolvers();
+    }
+
+    @Override
+    public BeanResolver getBeanResolver() {
+        return shared.getBeanResolver();
+    }
+
+    @Override
+    public TypeLocator getTypeLocator() {
+        return shared.getTypeLocator();
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return shared.getTypeConverter();
+    }
+
+    @Override
+    public TypeComparator getTypeComparator() {
+        return shared.getTypeComparator();
+    }
+
+    @Override
+    public OperatorOverloader getOperatorOverloader() {
+        return shared.getOperatorOverloader();
+    }
+
+    @Override
+    public boolean isAssignmentEnabled() {
+        return shared.isAssignmentEnabled();
+    }
+}
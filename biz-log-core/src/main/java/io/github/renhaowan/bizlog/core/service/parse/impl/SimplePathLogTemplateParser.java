@@ -0,0 +1,443 @@
+package io.github.renhaowan.bizlog.core.service.parse.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import io.github.renhaowan.bizlog.core.service.parse.ArgumentBinding;
+import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
+import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author wan
+ * 简单属性路径解析器（快速通道）
+ * <p>
+ * 只处理形如 "用户#{#user.name}删除了订单#{#order.id}" 的模板：字面量 + 变量属性链。
+ * 属性链按接收者类型缓存 MethodHandle getter，渲染时不经过 SpEL 的解析、上下文与反射调用。
+ * 语法上不支持的模板由 {@link #support(String)} 拒绝，交给责任链中的 SpEL 解析器；
+ * 运行时无法处理的情况（未绑定的变量、空值、找不到 getter 等）整体委托给 SpEL，保证结果与报错一致；
+ * getter 本身抛出的异常按 SpEL 的方式直接报错，不再委托（否则 getter 会被再调用一次，副作用和异常都出现两次）。
+ * </p>
+ */
+@Order(0)
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class SimplePathLogTemplateParser implements LogTemplateParser {
+
+    // 快速通道无法处理，需要交给 SpEL
+    private static final Object MISS = new Object();
+
+    // 不支持的模板
+    private static final CompiledTemplate UNSUPPORTED = new CompiledTemplate(new Object[0], 0);
+
+    // 与 SpEL 默认 TypeConverter 使用同一个转换服务，保证输出一致（如集合输出为 "1,2"）
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final LogTemplateParser fallback;
+
+    // 模板缓存：模板字符串 -> 编译结果
+    private final Cache<String, CompiledTemplate> templateCache;
+
+    // getter 缓存：接收者类型 -> 属性名 -> getter
+    private final ClassValue<Map<String, PropertyGetter>> getterCache = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyGetter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * @param fallback 运行时无法处理时委托的解析器（SpEL 解析器）
+     * @param prop 配置属性
+     */
+    public SimplePathLogTemplateParser(LogTemplateParser fallback, BizLogProperties prop) {
+        this.fallback = fallback;
+        this.templateCache = Caffeine.newBuilder()
+                .maximumSize(prop.getParser().getSpel().getCacheSize())
+                .build();
+    }
+
+    /**
+     * 是否支持当前语法：仅由字面量和 #{#变量.属性.属性} 组成的模板
+     */
+    @Override
+    public boolean support(String template) {
+        return template != null && template.contains("#{") && compile(template) != UNSUPPORTED;
+    }
+
+    /**
+     * 解析模板
+     *
+     * @param template 模板
+     * @param ctx      运行时上下文
+     * @return 解析后的纯文本
+     */
+    @Override
+    public String parse(String template, ParseContext ctx) {
+        CompiledTemplate compiled = compile(template);
+        Object result;
+        try {
+            result = compiled == UNSUPPORTED ? MISS : compiled.render(ctx);
+        } catch (EvaluationException e) {
+            // 与 SpEL 解析器的报错方式一致
+            log.error("SpEL解析异常: " + e.getMessage(), e);
+            throw new BizLogException("SpEL解析异常: " + e.getMessage(), e);
+        }
+        return result != MISS ? (String) result : fallback.parse(template, ctx);
+    }
+
+    /**
+     * 编译模板并放入缓存
+     */
+    @Override
+    public void precompile(String template) {
+        compile(template);
+    }
+
+    /**
+     * 预热：解析属性链的 getter；快速通道处理不了时交给 SpEL 预热
+     */
+    @Override
+    public boolean warmUp(String template, ParseContext ctx, int iterations) {
+        CompiledTemplate compiled = compile(template);
+        if (compiled != UNSUPPORTED) {
+            try {
+                if (compiled.render(ctx) != MISS) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+        return fallback.warmUp(template, ctx, iterations);
+    }
+
+    private CompiledTemplate compile(String template) {
+        return templateCache.get(template, this::doCompile);
+    }
+
+    // 编译模板：拆分为字面量(String)与属性路径(PathExpression)
+    private CompiledTemplate doCompile(String template) {
+        List<Object> segments = new ArrayList<>();
+        int literalLength = 0;
+        int pos = 0;
+        while (pos < template.length()) {
+            int start = template.indexOf("#{", pos);
+            if (start < 0) {
+                break;
+            }
+            int end = template.indexOf('}', start + 2);
+            if (end < 0) {
+                return UNSUPPORTED;
+            }
+            if (start > pos) {
+                segments.add(template.substring(pos, start));
+                literalLength += start - pos;
+            }
+            PathExpression path = parsePath(template.substring(start + 2, end).trim());
+            if (path == null) {
+                return UNSUPPORTED;
+            }
+            segments.add(path);
+            pos = end + 1;
+        }
+        if (pos < template.length()) {
+            segments.add(template.substring(pos));
+            literalLength += template.length() - pos;
+        }
+        return new CompiledTemplate(segments.toArray(), literalLength);
+    }
+
+    // 语法解析 #变量.属性.属性，不支持时返回 null
+    private PathExpression parsePath(String body) {
+        if (body.length() < 2 || body.charAt(0) != '#') {
+            return null;
+        }
+        String[] parts = body.substring(1).split("\\.", -1);
+        for (String part : parts) {
+            if (!isIdentifier(part)) {
+                return null;
+            }
+        }
+        // #root、#this 由 SpEL 处理
+        if ("root".equals(parts[0]) || "this".equals(parts[0])) {
+            return null;
+        }
+        PropertyNode[] nodes = new PropertyNode[parts.length - 1];
+        for (int i = 1; i < parts.length; i++) {
+            nodes[i - 1] = new PropertyNode(parts[i]);
+        }
+        return new PathExpression(parts[0], nodes);
+    }
+
+    private static boolean isIdentifier(String s) {
+        if (s.isEmpty() || !Character.isJavaIdentifierStart(s.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < s.length(); i++) {
+            if (!Character.isJavaIdentifierPart(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 解析属性 getter（与 ReflectivePropertyAccessor 的查找顺序一致：getX、isX、x()、public 字段）
+    private PropertyGetter resolveGetter(Class<?> type, String name) {
+        return getterCache.get(type).computeIfAbsent(name, n -> PropertyGetter.of(n, findGetter(type, n)));
+    }
+
+    private static MethodHandle findGetter(Class<?> type, String name) {
+        String suffix = name.length() > 1 && Character.isUpperCase(name.charAt(1)) ? name : StringUtils.capitalize(name);
+        Method method = findMethod(type, "get" + suffix, false);
+        if (method == null) {
+            method = findMethod(type, "is" + suffix, true);
+        }
+        if (method == null) {
+            method = findMethod(type, name, false);
+        }
+        try {
+            if (method != null) {
+                return unreflect(ClassUtils.getPubliclyAccessibleMethodIfPossible(method, type));
+            }
+            Field field = type.getField(name);
+            if (!Modifier.isStatic(field.getModifiers())) {
+                return MethodHandles.publicLookup().unreflectGetter(field).asType(GETTER_TYPE);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            log.debug("快速通道无法访问属性 {}.{}，交由 SpEL 处理", type.getName(), name);
+        }
+        return null;
+    }
+
+    private static Method findMethod(Class<?> type, String name, boolean booleanOnly) {
+        try {
+            Method method = type.getMethod(name);
+            if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) {
+                return null;
+            }
+            if (booleanOnly && method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class) {
+                return null;
+            }
+            return method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // public 方法声明在非 public 类上：与 SpEL 一样放开访问检查
+            if (!method.trySetAccessible()) {
+                throw e;
+            }
+            return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+        }
+    }
+
+    private static String toText(Object value) {
+        return value instanceof String s ? s : CONVERSION_SERVICE.convert(value, String.class);
+    }
+
+    /**
+     * 编译后的模板
+     */
+    private static final class CompiledTemplate {
+        private final Object[] segments;
+        // StringBuilder 初始容量，按实际输出长度自适应
+        private volatile int capacityHint;
+
+        CompiledTemplate(Object[] segments, int literalLength) {
+            this.segments = segments;
+            this.capacityHint = literalLength + 16 * segments.length;
+        }
+
+        // 渲染模板；返回 MISS 表示需要交给 SpEL
+        Object render(ParseContext ctx) {
+            if (segments.length == 1 && segments[0] instanceof PathExpression path) {
+                // 与 SpEL 一致：模板只有一个表达式时，null 原样返回
+                Object value = path.evaluate(ctx);
+                return value == MISS || value == null ? value : toText(value);
+            }
+            StringBuilder sb = new StringBuilder(capacityHint);
+            for (Object segment : segments) {
+                if (segment instanceof String literal) {
+                    sb.append(literal);
+                    continue;
+                }
+                Object value = ((PathExpression) segment).evaluate(ctx);
+                if (value == MISS) {
+                    return MISS;
+                }
+                if (value != null) {
+                    sb.append(toText(value));
+                }
+            }
+            if (sb.length() > capacityHint) {
+                capacityHint = sb.length();
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 属性路径：#变量.属性.属性
+     */
+    private static final class PathExpression {
+        private final String variable;
+        private final PropertyNode[] properties;
+        // 单态缓存：最近一次的参数对应表及变量在其中的下标（同一模板通常只用于一个方法）
+        private volatile CachedIndex cachedIndex;
+
+        PathExpression(String variable, PropertyNode[] properties) {
+            this.variable = variable;
+            this.properties = properties;
+        }
+
+        Object evaluate(ParseContext ctx) {
+            Object current = lookupVariable(ctx);
+            for (PropertyNode node : properties) {
+                if (current == MISS || current == null) {
+                    // 空值上取属性：交给 SpEL 抛出一致的异常
+                    return MISS;
+                }
+                current = node.read(current);
+            }
+            return current;
+        }
+
+        // 变量查找顺序与 ScopedEvaluationContext 一致，未绑定的变量（拓展变量、函数）交给 SpEL
+        private Object lookupVariable(ParseContext ctx) {
+            switch (variable) {
+                case "ret":
+                    return ctx.getRetValue();
+                case "ex":
+                    return ctx.getThrown();
+                case "method":
+                    return ctx.getMethod();
+                default:
+                    break;
+            }
+            ArgumentBinding binding = ctx.getBinding();
+            if (binding == null || ctx.getArgValues() == null) {
+                return ctx.lookupArg(variable, MISS);
+            }
+            CachedIndex c = cachedIndex;
+            if (c == null || c.binding != binding) {
+                c = new CachedIndex(binding, binding.indexOf(variable));
+                cachedIndex = c;
+            }
+            return ctx.argAt(c.index, MISS);
+        }
+    }
+
+    /**
+     * 参数对应表 + 变量下标（-1 表示没有该参数）
+     */
+    private static final class CachedIndex {
+        private final ArgumentBinding binding;
+        private final int index;
+
+        CachedIndex(ArgumentBinding binding, int index) {
+            this.binding = binding;
+            this.index = index;
+        }
+    }
+
+    /**
+     * 属性节点：带单态内联缓存（最近一次的接收者类型及其 getter）
+     */
+    private final class PropertyNode {
+        private final String name;
+        private volatile CachedGetter cached;
+
+        PropertyNode(String name) {
+            this.name = name;
+        }
+
+        Object read(Object receiver) {
+            // 与 MapAccessor 一致：Map 中存在该 key 时按 key 取值
+            if (receiver instanceof Map<?, ?> map && map.containsKey(name)) {
+                return map.get(name);
+            }
+            Class<?> type = receiver.getClass();
+            CachedGetter c = cached;
+            PropertyGetter getter;
+            if (c != null && c.type == type) {
+                getter = c.getter;
+            } else {
+                getter = resolveGetter(type, name);
+                cached = new CachedGetter(type, getter);
+            }
+            return getter.read(receiver);
+        }
+    }
+
+    private static final class CachedGetter {
+        private final Class<?> type;
+        private final PropertyGetter getter;
+
+        CachedGetter(Class<?> type, PropertyGetter getter) {
+            this.type = type;
+            this.getter = getter;
+        }
+    }
+
+    /**
+     * 属性 getter
+     */
+    private static final class PropertyGetter {
+        private static final PropertyGetter MISSING = new PropertyGetter(null, null);
+
+        private final String name;
+        private final MethodHandle handle;
+
+        private PropertyGetter(String name, MethodHandle handle) {
+            this.name = name;
+            this.handle = handle;
+        }
+
+        static PropertyGetter of(String name, MethodHandle handle) {
+            return handle == null ? MISSING : new PropertyGetter(name, handle);
+        }
+
+        Object read(Object receiver) {
+            if (handle == null) {
+                return MISS;
+            }
+            try {
+                return (Object) handle.invokeExact(receiver);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // getter 抛出异常：与 SpEL 读取属性失败时的异常一致，不交给 SpEL 重新调用
+                throw new SpelEvaluationException(e, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name,
+                        "Unable to access property '" + name + "' through getter method");
+            }
+        }
+    }
+}
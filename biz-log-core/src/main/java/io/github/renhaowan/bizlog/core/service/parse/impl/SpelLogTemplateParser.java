@@ -1,5 +1,9 @@
 package io.github.renhaowan.bizlog.core.service.parse.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
 import io.github.renhaowan.bizlog.core.log.LogConstant;
 import io.github.renhaowan.bizlog.core.service.error.BizLogException;
 import io.github.renhaowan.bizlog.core.service.parse.LogTemplateParser;
@@ -11,7 +15,6 @@ import org.springframework.context.expression.MapAccessor;
 import org.springframework.core.annotation.Order;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
-import org.springframework.expression.Expression;
 import org.springframework.expression.common.TemplateParserContext;
 import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelParserConfiguration;
@@ -20,6 +23,12 @@ import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.Assert;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author wan
  * SpEL 解析器（starter 默认）
@@ -29,10 +38,10 @@ import org.springframework.util.Assert;
 public class SpelLogTemplateParser implements LogTemplateParser {
 
 
-    // SpEL 引擎 ：采用混合模式
+    // SpEL 引擎：OFF 模式，编译与回退由 SpelTemplate 按模板控制（见 biz.log.parser.spel.compile）
     // 传 null 表示“使用当前线程上下文类加载器”。
     private final SpelExpressionParser parser = new SpelExpressionParser(
-            new SpelParserConfiguration(SpelCompilerMode.MIXED, null)
+            new SpelParserConfiguration(SpelCompilerMode.OFF, null)
     );
     //指定模板定界符：#{ }
     private final TemplateParserContext spelCtx = new TemplateParserContext("#{", "}");
@@ -40,15 +49,41 @@ public class SpelLogTemplateParser implements LogTemplateParser {
     private final ApplicationContext applicationContext;
     private final SpelExpansionContext spelExpansionContext;
 
+    // 共享的 SpEL 上下文骨架：访问器、Bean 解析器、拓展函数只注册一次
+    private final StandardEvaluationContext sharedEvalCtx;
+
+    // 表达式缓存：模板字符串 -> 解析后的表达式及其编译状态、求值统计，编译出的字节码随表达式一起被复用
+    private final Cache<String, SpelTemplate> expressionCache;
+
+    // 编译配置
+    private final BizLogProperties.Parser.Spel.Compile compile;
+
+    // 通过 API 固定的编译模式（模板被淘汰后重新解析时仍然生效）
+    private final Map<String, SpelCompilerMode> pinnedModes = new ConcurrentHashMap<>();
+
 
     /**
-     * 构建Spel日志模板解析器，提供Spel表达式解析能力
+     * 构建Spel日志模板解析器，提供Spel表达式解析能力（使用默认缓存配置）
      * @param applicationContext Spring 上下文
      * @param spelExpansionContext 拓展上下文
      */
     public SpelLogTemplateParser(ApplicationContext applicationContext, SpelExpansionContext spelExpansionContext) {
+        this(applicationContext, spelExpansionContext, new BizLogProperties());
+    }
+
+    /**
+     * 构建Spel日志模板解析器，提供Spel表达式解析能力
+     * @param applicationContext Spring 上下文
+     * @param spelExpansionContext 拓展上下文
+     * @param prop 配置属性
+     */
+    public SpelLogTemplateParser(ApplicationContext applicationContext, SpelExpansionContext spelExpansionContext,
+                                 BizLogProperties prop) {
         this.applicationContext = applicationContext;
         this.spelExpansionContext = spelExpansionContext;
+        this.expressionCache = buildExpressionCache(prop.getParser().getSpel());
+        this.compile = prop.getParser().getSpel().getCompile();
+        this.sharedEvalCtx = buildSharedEvaluationContext();
     }
 
     /**
@@ -68,30 +103,138 @@ public class SpelLogTemplateParser implements LogTemplateParser {
      */
     @Override
     public String parse(String template, ParseContext ctx) {
-        Expression expression = parser.parseExpression(template, spelCtx);
+        SpelTemplate expression = expression(template);
         EvaluationContext spelEvalCtx = buildEvaluationContext(ctx);
         Assert.notNull(expression, "SpEL Expression cannot be null");
         try {
-            return expression.getValue(spelEvalCtx, String.class);
+            return expression.getValue(spelEvalCtx);
         } catch (EvaluationException e) {
             log.error("SpEL解析异常: " + e.getMessage(), e);
             throw new BizLogException("SpEL解析异常: " + e.getMessage(), e);
         }
     }
 
-    // 构建 SpEL 运行时上下文
+    /**
+     * 解析表达式并放入缓存
+     *
+     * @param template 模板
+     * @throws org.springframework.expression.ParseException 模板语法错误
+     */
+    @Override
+    public void precompile(String template) {
+        expression(template);
+    }
+
+    /**
+     * 预热：求值超过 100 次后 MIXED 模式会把表达式编译为字节码；求值失败时静默停止（不打印错误日志）
+     */
+    @Override
+    public boolean warmUp(String template, ParseContext ctx, int iterations) {
+        SpelTemplate expression = expression(template);
+        EvaluationContext spelEvalCtx = buildEvaluationContext(ctx);
+        try {
+            for (int i = 0; i < iterations; i++) {
+                expression.getValue(spelEvalCtx);
+            }
+            return true;
+        } catch (EvaluationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取所有已缓存模板的求值统计：编译 / 解释执行次数、编译失败和回退次数、平均耗时、当前编译模式
+     *
+     * @return 统计快照
+     */
+    public List<SpelTemplateStats> getTemplateStats() {
+        List<SpelTemplateStats> stats = new ArrayList<>();
+        for (SpelTemplate t : expressionCache.asMap().values()) {
+            stats.add(t.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * 获取单个模板的求值统计
+     *
+     * @param template 模板
+     * @return 统计快照，模板未被缓存时返回 null
+     */
+    public SpelTemplateStats getTemplateStats(String template) {
+        SpelTemplate t = expressionCache.getIfPresent(template);
+        return t != null ? t.stats() : null;
+    }
+
+    /**
+     * 固定模板的编译模式（不再自适应）：OFF 只解释执行，MIXED 解释执行 100 次后编译，IMMEDIATE 第 2 次求值即编译
+     *
+     * @param template 模板
+     * @param mode     编译模式，为 null 时恢复自适应
+     */
+    public void setCompileMode(String template, SpelCompilerMode mode) {
+        if (mode == null) {
+            pinnedModes.remove(template);
+        } else {
+            pinnedModes.put(template, mode);
+        }
+        SpelTemplate t = expressionCache.getIfPresent(template);
+        if (t != null) {
+            t.pin(mode);
+        }
+    }
+
+    /**
+     * 获取表达式缓存统计信息（命中、未命中、淘汰次数等）
+     *
+     * @return 缓存统计信息
+     */
+    public CacheStats getCacheStats() {
+        return expressionCache.stats();
+    }
+
+    /**
+     * 获取当前缓存的表达式数量
+     *
+     * @return 缓存条数（近似值）
+     */
+    public long getCacheSize() {
+        return expressionCache.estimatedSize();
+    }
+
+    // 从缓存获取表达式，未命中时解析
+    private SpelTemplate expression(String template) {
+        return expressionCache.get(template, t -> new SpelTemplate(t, parser.parseExpression(t, spelCtx), compile,
+                pinnedModes.get(t)));
+    }
+
+    // 构建表达式缓存
+    private static Cache<String, SpelTemplate> buildExpressionCache(BizLogProperties.Parser.Spel spel) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spel.getCacheSize())
+                .recordStats();
+        if (spel.getCacheTime() > 0) {
+            builder.expireAfterAccess(Duration.ofSeconds(spel.getCacheTime()));
+        }
+        return builder.build();
+    }
+
+    // 构建 SpEL 运行时上下文：共享骨架 + 本次调用的变量
     private EvaluationContext buildEvaluationContext(ParseContext ctx) {
+        // 常用变量直接绑定，模板里直接写 #ret、#ex、#method、#args[0] 、#classId...
+        EvaluationContext ec = new ScopedEvaluationContext(sharedEvalCtx, ctx);
+        // 每次求值的拓展变量（MDC、租户、当前用户等）
+        spelExpansionContext.expandPerCall(ec);
+        return ec;
+    }
+
+    // 构建共享的 SpEL 上下文骨架（只构建一次）
+    private StandardEvaluationContext buildSharedEvaluationContext() {
         StandardEvaluationContext ec = new StandardEvaluationContext();
 
         // 把方法参数变成 root object，可以用 #root.args[0] 或 #course
 //        ec.setRootObject(new MethodArgsRoot(ctx.getArgs()));
 
-        // 常用变量直接绑定，模板里直接写 #ret、#ex、#method、#args[0] 、#classId...
-        ctx.getArgs().forEach(ec::setVariable);            // 方法参数：参数名，参数值
-        ec.setVariable("ret",   ctx.getRetValue());  // 返回值
-        ec.setVariable("ex",    ctx.getThrown());    // 异常
-        ec.setVariable("method", ctx.getMethod());   // 方法
-
         // 让 SpEL 支持 Map、List 下标访问，例如 #map['key']
         ec.addPropertyAccessor(new MapAccessor());
         //让 SpEL 识别 POJO。
@@ -100,17 +243,40 @@ public class SpelLogTemplateParser implements LogTemplateParser {
         /* 支持 @beanName 语法：#{@userService.findName(1)} */
         ec.setBeanResolver(new BeanFactoryResolver(applicationContext));
 
-        // 还可以注册工具函数：#{#mdc('traceId')}
+        // 还可以注册工具函数：#{#mdc('traceId')}（只执行一次，随请求变化的变量见 expandPerCall）
         spelExpansionContext.expand(ec);                // 外部拓展
 
+        // 提前初始化惰性创建的解析器，骨架在多线程间只读共享
+        ec.getConstructorResolvers();
+        ec.getMethodResolvers();
+        ec.getTypeLocator();
         return ec;
     }
 
     /**
      * @author wan
-     * 拓展 SpEL 上下文 : 外界可添加自定义变量
+     * 拓展 SpEL 上下文 : 外界可添加自定义函数和变量
+     * <p>{@link #expand} 在解析器创建时只执行一次，结果在所有线程间共享，只能注册函数和不变的常量；
+     * 随请求变化的值（MDC、租户、当前用户等）在 {@link #expandPerCall} 中设置</p>
      */
     public interface SpelExpansionContext {
+
+        /**
+         * 注册函数和常量（解析器创建时执行一次）
+         * <p>这里注册的变量优先级最低：与方法参数、#ret、#ex、#method 重名时被覆盖</p>
+         *
+         * @param ec 共享的上下文骨架
+         */
         void expand(StandardEvaluationContext ec);
+
+        /**
+         * 设置本次求值的变量（每次解析模板时在当前线程执行，异步延迟渲染时为日志线程）
+         * <p>通过 ec.setVariable 设置的变量优先级最高，会覆盖同名的方法参数和 #ret、#ex、#method；
+         * 简单属性路径快速通道看不到这些变量，变量名不要与方法参数重名</p>
+         *
+         * @param ec 本次求值的上下文
+         */
+        default void expandPerCall(EvaluationContext ec) {
+        }
     }
 }
@@ -0,0 +1,296 @@
+package io.github.renhaowan.bizlog.core.service.parse.impl;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author wan
+ * 单个模板的表达式及其编译状态
+ * 表达式由 OFF 模式的解析器解析（SpEL 自身不再自动编译），编译与回退在这里进行，因此每次求值是编译还是解释都可以统计：
+ * 模板中的每个 #{...} 单独编译、单独回退（与 SpEL MIXED 模式一致），编译模式按模板决定，按配置的初始模式开始，
+ * 自适应时根据编译代码的回退次数升降级，也可以通过 API 固定
+ */
+final class SpelTemplate {
+
+    // 与 SpEL 一致：MIXED 解释执行超过 100 次后编译，IMMEDIATE 第 2 次求值时编译；不自适应时编译失败 100 次后放弃
+    private static final int MIXED_THRESHOLD = 100;
+    private static final int IMMEDIATE_THRESHOLD = 1;
+    private static final int FAILED_ATTEMPTS_THRESHOLD = 100;
+
+    private final String template;
+    // 模板各段：字面量(String)或 SpEL 段(Part)
+    private final Object[] segments;
+    private final Part[] parts;
+    private final BizLogProperties.Parser.Spel.Compile policy;
+
+    private volatile SpelCompilerMode mode;
+    private volatile boolean pinned;
+    // 当前模式下编译代码的回退次数
+    private final AtomicInteger strikes = new AtomicInteger();
+    // MIXED 下连续的编译求值次数
+    private final AtomicLong compiledStreak = new AtomicLong();
+
+    private final LongAdder compiledEvaluations = new LongAdder();
+    private final LongAdder interpretedEvaluations = new LongAdder();
+    private final LongAdder compileFailures = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * @param template   模板
+     * @param expression 解析后的表达式
+     * @param policy     编译配置
+     * @param pinnedMode 固定的编译模式，为 null 时使用配置的初始模式
+     */
+    SpelTemplate(String template, Expression expression, BizLogProperties.Parser.Spel.Compile policy,
+                 SpelCompilerMode pinnedMode) {
+        this.template = template;
+        Expression[] expressions = expression instanceof CompositeStringExpression composite
+                ? composite.getExpressions()
+                : new Expression[]{expression};
+        this.segments = new Object[expressions.length];
+        int count = 0;
+        for (Expression e : expressions) {
+            if (e instanceof SpelExpression) {
+                count++;
+            }
+        }
+        this.parts = new Part[count];
+        for (int i = 0, p = 0; i < expressions.length; i++) {
+            if (expressions[i] instanceof SpelExpression spel) {
+                parts[p] = new Part(spel);
+                segments[i] = parts[p++];
+            } else {
+                segments[i] = expressions[i].getExpressionString();
+            }
+        }
+        this.policy = policy;
+        this.mode = pinnedMode != null ? pinnedMode : policy.getMode();
+        this.pinned = pinnedMode != null;
+    }
+
+    /**
+     * 求值
+     *
+     * @param ctx SpEL 上下文
+     * @return 渲染结果（模板只有一个表达式时可能为 null）
+     */
+    String getValue(EvaluationContext ctx) {
+        boolean timed = policy.isTiming();
+        long start = timed ? System.nanoTime() : 0;
+        boolean allCompiled = true;
+        String value;
+        if (segments.length == 1 && segments[0] instanceof Part part) {
+            // 与 SpEL 一致：模板只有一个表达式时，null 原样返回
+            allCompiled = part.compiled;
+            value = evaluate(part, ctx);
+            allCompiled &= part.compiled;
+        } else {
+            StringBuilder sb = new StringBuilder();
+            for (Object segment : segments) {
+                if (segment instanceof Part part) {
+                    allCompiled &= part.compiled;
+                    String v = evaluate(part, ctx);
+                    allCompiled &= part.compiled;
+                    if (v != null) {
+                        sb.append(v);
+                    }
+                } else {
+                    sb.append((String) segment);
+                }
+            }
+            value = sb.toString();
+        }
+        if (timed) {
+            totalNanos.add(System.nanoTime() - start);
+        }
+        if (allCompiled) {
+            compiledEvaluations.increment();
+            onCompiledEvaluation();
+        } else {
+            interpretedEvaluations.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 固定编译模式（不再自适应），为 null 时恢复自适应并保持当前模式；固定后已放弃编译的段重新尝试
+     *
+     * @param pinnedMode 编译模式
+     */
+    synchronized void pin(SpelCompilerMode pinnedMode) {
+        if (pinnedMode == null) {
+            pinned = false;
+            return;
+        }
+        pinned = true;
+        for (Part part : parts) {
+            part.failures = 0;
+            part.gaveUp = false;
+        }
+        switchMode(pinnedMode);
+    }
+
+    /**
+     * @return 统计快照
+     */
+    SpelTemplateStats stats() {
+        long compiledCount = compiledEvaluations.sum();
+        long interpretedCount = interpretedEvaluations.sum();
+        long total = compiledCount + interpretedCount;
+        double mean = policy.isTiming() && total > 0 ? (double) totalNanos.sum() / total : Double.NaN;
+        int compiledParts = 0;
+        for (Part part : parts) {
+            if (part.compiled) {
+                compiledParts++;
+            }
+        }
+        return new SpelTemplateStats(template, mode, pinned, parts.length, compiledParts, compiledCount,
+                interpretedCount, compileFailures.sum(), fallbacks.sum(), mean);
+    }
+
+    // 单段求值：编译代码出错时回退为解释执行后重新求值
+    private String evaluate(Part part, EvaluationContext ctx) {
+        boolean wasCompiled = part.compiled;
+        String value;
+        try {
+            value = part.expression.getValue(ctx, String.class);
+        } catch (SpelEvaluationException e) {
+            if (e.getMessageCode() != SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION) {
+                throw e;
+            }
+            fallback(part);
+            value = part.expression.getValue(ctx, String.class);
+            wasCompiled = true;
+        }
+        if (!wasCompiled) {
+            onInterpretedEvaluation(part);
+        }
+        return value;
+    }
+
+    private void onInterpretedEvaluation(Part part) {
+        SpelCompilerMode m = mode;
+        if (m == SpelCompilerMode.OFF || part.gaveUp) {
+            return;
+        }
+        int threshold = m == SpelCompilerMode.IMMEDIATE ? IMMEDIATE_THRESHOLD : MIXED_THRESHOLD;
+        if (part.interpreted.incrementAndGet() > threshold) {
+            compile(part);
+        }
+    }
+
+    private void onCompiledEvaluation() {
+        long promoteAfter = policy.getPromoteAfter();
+        if (mode == SpelCompilerMode.MIXED && adaptive() && promoteAfter > 0
+                && compiledStreak.incrementAndGet() >= promoteAfter) {
+            synchronized (this) {
+                if (mode == SpelCompilerMode.MIXED && adaptive()) {
+                    switchMode(SpelCompilerMode.IMMEDIATE);
+                }
+            }
+        }
+    }
+
+    // 编译单段；多次失败后该段放弃编译（一直解释执行），所有段都放弃时模板降为 OFF
+    private synchronized void compile(Part part) {
+        if (part.compiled || part.gaveUp || mode == SpelCompilerMode.OFF) {
+            return;
+        }
+        part.interpreted.set(0);
+        boolean ok;
+        try {
+            ok = part.expression.compileExpression();
+        } catch (RuntimeException e) {
+            ok = false;
+        }
+        if (ok) {
+            part.compiled = true;
+            return;
+        }
+        part.expression.revertToInterpreted();
+        compileFailures.increment();
+        int limit = adaptive() ? Math.max(1, policy.getDemoteAfter()) : FAILED_ATTEMPTS_THRESHOLD;
+        if (++part.failures < limit) {
+            return;
+        }
+        part.gaveUp = true;
+        if (adaptive()) {
+            for (Part p : parts) {
+                if (!p.gaveUp) {
+                    return;
+                }
+            }
+            switchMode(SpelCompilerMode.OFF);
+        }
+    }
+
+    private synchronized void fallback(Part part) {
+        if (!part.compiled) {
+            // 其他线程已回退
+            return;
+        }
+        revert(part);
+        fallbacks.increment();
+        compiledStreak.set(0);
+        if (!adaptive() || strikes.incrementAndGet() < Math.max(1, policy.getDemoteAfter())) {
+            return;
+        }
+        // 降级：IMMEDIATE -> MIXED -> OFF
+        if (mode == SpelCompilerMode.IMMEDIATE) {
+            switchMode(SpelCompilerMode.MIXED);
+        } else if (mode == SpelCompilerMode.MIXED) {
+            switchMode(SpelCompilerMode.OFF);
+        }
+    }
+
+    private void switchMode(SpelCompilerMode newMode) {
+        mode = newMode;
+        strikes.set(0);
+        compiledStreak.set(0);
+        for (Part part : parts) {
+            part.interpreted.set(0);
+            if (newMode == SpelCompilerMode.OFF && part.compiled) {
+                revert(part);
+            }
+        }
+    }
+
+    private static void revert(Part part) {
+        part.expression.revertToInterpreted();
+        part.compiled = false;
+        part.interpreted.set(0);
+    }
+
+    private boolean adaptive() {
+        return policy.isAdaptive() && !pinned;
+    }
+
+    /**
+     * 模板中的一个 #{...}
+     */
+    private static final class Part {
+        private final SpelExpression expression;
+        private volatile boolean compiled;
+        // 编译失败次数过多，不再尝试
+        private volatile boolean gaveUp;
+        // 上次编译尝试以来的解释执行次数
+        private final AtomicInteger interpreted = new AtomicInteger();
+        // 编译失败次数（在模板锁内修改）
+        private int failures;
+
+        Part(SpelExpression expression) {
+            this.expression = expression;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.renhaowan.bizlog.core.service.parse.impl;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+/**
+ * @author wan
+ * 单个 SpEL 模板的求值统计（快照）
+ * 长期停留在 OFF、回退次数多或编译失败的模板适合改写（如拆成简单属性路径、去掉类型不固定的调用）
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class SpelTemplateStats {
+    // 模板
+    private final String template;
+
+    // 当前编译模式
+    private final SpelCompilerMode mode;
+
+    // 是否通过 API 固定了编译模式
+    private final boolean pinned;
+
+    // 模板中 #{...} 的个数
+    private final int parts;
+
+    // 其中已编译的个数
+    private final int compiledParts;
+
+    // 所有 #{...} 都使用编译代码的求值次数
+    private final long compiledEvaluations;
+
+    // 至少一个 #{...} 解释执行的求值次数
+    private final long interpretedEvaluations;
+
+    // 编译失败次数
+    private final long compileFailures;
+
+    // 编译代码出错、回退为解释执行的次数
+    private final long fallbacks;
+
+    // 平均求值耗时（纳秒），未记录耗时时为 NaN
+    private final double meanNanos;
+
+    /**
+     * @return 所有 #{...} 是否都已编译
+     */
+    public boolean isCompiled() {
+        return parts > 0 && compiledParts == parts;
+    }
+}
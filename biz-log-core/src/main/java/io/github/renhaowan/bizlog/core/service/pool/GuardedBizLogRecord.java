@@ -0,0 +1,67 @@
+package io.github.renhaowan.bizlog.core.service.pool;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.log.action.AbstractBizAction;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 调试模式下借出的日志记录：归还后不复用，之后再被读取时打印一次警告和调用栈（调用栈中即为仍持有日志记录的存储器）
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+final class GuardedBizLogRecord extends PooledBizLogRecord {
+
+    private volatile boolean released;
+    private volatile boolean reported;
+
+    GuardedBizLogRecord(LogRecordPool pool, int stripe) {
+        super(pool, stripe);
+    }
+
+    void markReleased() {
+        released = true;
+    }
+
+    @Override
+    public AbstractBizAction getAction() {
+        check();
+        return super.getAction();
+    }
+
+    @Override
+    public String getContent() {
+        check();
+        return super.getContent();
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        check();
+        return super.getThrowable();
+    }
+
+    @Override
+    public Map<String, Object> getExtra() {
+        check();
+        return super.getExtra();
+    }
+
+    @Override
+    public LocalDateTime getTime() {
+        check();
+        return super.getTime();
+    }
+
+    private void check() {
+        if (released && !reported) {
+            reported = true;
+            log.warn("【操作日志】日志记录在所有存储器写完后仍被读取，存储器在 store 返回后持有了日志记录，"
+                    + "请在该存储器中覆盖 retainsRecords() 返回 true，或关闭 biz.log.async.pool",
+                    new IllegalStateException(BizLogRecord.class.getSimpleName() + " accessed after release"));
+        }
+    }
+}
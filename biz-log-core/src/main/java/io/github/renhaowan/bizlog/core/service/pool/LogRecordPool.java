@@ -0,0 +1,110 @@
+package io.github.renhaowan.bizlog.core.service.pool;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author wan
+ * 日志记录对象池（有界，按线程分段）
+ * 业务线程从所在分段借出，归还时回到借出时的分段（归还发生在异步线程，按归还线程分段会让业务线程的分段一直为空）；
+ * 分段为空时新建，分段已满时丢弃
+ */
+public final class LogRecordPool {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final boolean debug;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param pool 对象池配置
+     */
+    public LogRecordPool(BizLogProperties.Async.Pool pool) {
+        int n = pool.getStripes() > 0 ? pool.getStripes() : Runtime.getRuntime().availableProcessors();
+        int size = n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(Math.max(1, pool.getCapacityPerStripe()));
+        }
+        this.mask = size - 1;
+        this.debug = pool.isDebug();
+    }
+
+    /**
+     * 借出日志记录：字段为空，extra 为空的可写 Map，持有一次引用
+     *
+     * @return 日志记录
+     */
+    public BizLogRecord borrow() {
+        int stripe = (int) Thread.currentThread().getId() & mask;
+        if (debug) {
+            misses.increment();
+            return new GuardedBizLogRecord(this, stripe);
+        }
+        PooledBizLogRecord record = stripes[stripe].pop();
+        if (record == null) {
+            misses.increment();
+            return new PooledBizLogRecord(this, stripe);
+        }
+        hits.increment();
+        return record;
+    }
+
+    /**
+     * @return 从池中借出（复用）的次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return 池中没有可用对象而新建的次数
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // 引用归零：丢弃的不复用；调试模式下只标记，否则清空后放回借出时的分段
+    void recycle(PooledBizLogRecord record) {
+        if (record.isDiscarded()) {
+            return;
+        }
+        if (record instanceof GuardedBizLogRecord guarded) {
+            guarded.markReleased();
+            return;
+        }
+        record.reset();
+        stripes[record.stripe].push(record);
+    }
+
+    /**
+     * 分段：数组栈，竞争很少，直接使用对象锁
+     */
+    private static final class Stripe {
+        private final PooledBizLogRecord[] items;
+        private int size;
+
+        Stripe(int capacity) {
+            this.items = new PooledBizLogRecord[capacity];
+        }
+
+        synchronized PooledBizLogRecord pop() {
+            if (size == 0) {
+                return null;
+            }
+            PooledBizLogRecord record = items[--size];
+            items[size] = null;
+            return record;
+        }
+
+        synchronized void push(PooledBizLogRecord record) {
+            if (size < items.length) {
+                items[size++] = record;
+            }
+        }
+    }
+}
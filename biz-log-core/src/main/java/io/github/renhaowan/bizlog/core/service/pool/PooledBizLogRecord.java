@@ -0,0 +1,70 @@
+package io.github.renhaowan.bizlog.core.service.pool;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * @author wan
+ * 对象池中的日志记录：引用计数归零时归还对象池
+ * 借出时持有一次引用（由日志管道释放），每交给一个异步存储器通道再增加一次；出错的日志记录可能被错误处理器持有，标记为丢弃后不再复用
+ */
+public class PooledBizLogRecord extends BizLogRecord {
+
+    private static final AtomicIntegerFieldUpdater<PooledBizLogRecord> REFS =
+            AtomicIntegerFieldUpdater.newUpdater(PooledBizLogRecord.class, "refs");
+
+    private final LogRecordPool pool;
+    // 借出时所在的分段，归还到同一分段
+    final int stripe;
+    // 复用的 extra
+    private final Map<String, Object> ownedExtra = new HashMap<>();
+    private volatile int refs = 1;
+    private volatile boolean discarded;
+
+    PooledBizLogRecord(LogRecordPool pool, int stripe) {
+        this.pool = pool;
+        this.stripe = stripe;
+        setExtra(ownedExtra);
+    }
+
+    /**
+     * 增加一次引用
+     */
+    public void retain() {
+        REFS.incrementAndGet(this);
+    }
+
+    /**
+     * 释放一次引用，归零时归还对象池
+     */
+    public void release() {
+        if (REFS.decrementAndGet(this) == 0) {
+            pool.recycle(this);
+        }
+    }
+
+    /**
+     * 标记为丢弃：引用归零后不再复用（交给 GC）
+     */
+    public void discard() {
+        discarded = true;
+    }
+
+    boolean isDiscarded() {
+        return discarded;
+    }
+
+    // 清空后重新借出
+    void reset() {
+        setAction(null);
+        setContent(null);
+        setThrowable(null);
+        setTime(null);
+        ownedExtra.clear();
+        setExtra(ownedExtra);
+        refs = 1;
+    }
+}
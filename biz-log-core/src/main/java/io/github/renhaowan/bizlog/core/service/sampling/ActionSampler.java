@@ -0,0 +1,101 @@
+package io.github.renhaowan.bizlog.core.service.sampling;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author wan
+ * 单个动作的采样与限流（无锁）
+ * 先按采样率随机取舍，再过令牌桶；令牌桶以“理论到达时间”（GCRA）实现，只有一个 AtomicLong，每次判断一次 CAS
+ */
+public final class ActionSampler {
+
+    private final String actionCode;
+    private final double ratio;
+    private final boolean keepErrors;
+    // 令牌间隔（纳秒），0 表示不限流
+    private final long intervalNanos;
+    // 允许的突发量对应的时间窗口（纳秒）
+    private final long toleranceNanos;
+    // 理论到达时间
+    private final AtomicLong tat;
+
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    /**
+     * @param actionCode 动作编码
+     * @param action     采样与限流参数
+     * @param keepErrors 有异常的日志是否不受影响
+     */
+    ActionSampler(String actionCode, BizLogProperties.Sampling.Action action, boolean keepErrors) {
+        this.actionCode = actionCode;
+        this.ratio = Math.max(0, Math.min(1, action.getRatio()));
+        this.keepErrors = keepErrors;
+        if (action.getRatePerSecond() > 0) {
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / action.getRatePerSecond()));
+            int burst = action.getBurst() > 0 ? action.getBurst() : (int) Math.max(1, action.getRatePerSecond());
+            this.toleranceNanos = intervalNanos * burst;
+        } else {
+            this.intervalNanos = 0;
+            this.toleranceNanos = 0;
+        }
+        this.tat = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 判断本次是否记录
+     *
+     * @param error 是否有异常
+     * @return true: 记录
+     */
+    public boolean tryAcquire(boolean error) {
+        if (error && keepErrors) {
+            return true;
+        }
+        if (ratio < 1 && (ratio == 0 || ThreadLocalRandom.current().nextDouble() >= ratio)) {
+            sampledOut.increment();
+            return false;
+        }
+        if (intervalNanos == 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        for (;;) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > toleranceNanos) {
+                rateLimited.increment();
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return 动作编码
+     */
+    public String getActionCode() {
+        return actionCode;
+    }
+
+    /**
+     * @return 因采样未记录的次数
+     */
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * @return 因限流未记录的次数
+     */
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+}
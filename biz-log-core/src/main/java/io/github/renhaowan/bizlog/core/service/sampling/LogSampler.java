@@ -0,0 +1,65 @@
+package io.github.renhaowan.bizlog.core.service.sampling;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 按动作编码的采样与限流
+ * 启动时为配置了参数的动作创建 {@link ActionSampler}，调用计划构建时取出并缓存，记录时不再查表
+ */
+public final class LogSampler {
+
+    private final Map<String, ActionSampler> samplers = new HashMap<>();
+
+    /**
+     * @param sampling 采样与限流配置
+     */
+    public LogSampler(BizLogProperties.Sampling sampling) {
+        sampling.getActions().forEach((code, action) ->
+                samplers.put(code, new ActionSampler(code, action, sampling.isKeepErrors())));
+    }
+
+    /**
+     * 获取动作的采样器
+     *
+     * @param actionCode 动作编码
+     * @return 采样器，未配置时返回 null（全部记录）
+     */
+    public ActionSampler forAction(String actionCode) {
+        return actionCode == null ? null : samplers.get(actionCode);
+    }
+
+    /**
+     * @return 所有采样器（用于统计）
+     */
+    public Collection<ActionSampler> getSamplers() {
+        return Collections.unmodifiableCollection(samplers.values());
+    }
+
+    /**
+     * @return 因采样未记录的总次数
+     */
+    public long getSampledOut() {
+        long sum = 0;
+        for (ActionSampler sampler : samplers.values()) {
+            sum += sampler.getSampledOut();
+        }
+        return sum;
+    }
+
+    /**
+     * @return 因限流未记录的总次数
+     */
+    public long getRateLimited() {
+        long sum = 0;
+        for (ActionSampler sampler : samplers.values()) {
+            sum += sampler.getRateLimited();
+        }
+        return sum;
+    }
+}
@@ -3,6 +3,9 @@ package io.github.renhaowan.bizlog.core.service.storage;
 import io.github.renhaowan.bizlog.core.log.BizLogRecord;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author wan
  * 抽象日志存储器，获取日志存储器的beanName
@@ -42,6 +45,15 @@ public abstract class AbstractLogStorage implements LogStorage {
         return shouldStoreWhenException(ex);
     }
 
+    /**
+     * store 返回后是否仍持有日志记录（例如放入内部队列稍后写入）
+     * <p>返回 true 时，写入该存储器的日志记录不会被对象池（biz.log.async.pool）复用</p>
+     * @return 默认 false
+     */
+    public boolean retainsRecords() {
+        return false;
+    }
+
     /**
      * 实际存储日志方法
      * @param records 日志记录对象
@@ -52,4 +64,58 @@ public abstract class AbstractLogStorage implements LogStorage {
         }
         store(records);
     }
+
+    /**
+     * 实际存储日志方法，落地后回调（被异常过滤掉的日志立即回调成功）
+     * @param records 日志记录对象
+     * @param callback 完成回调
+     */
+    public final void doStore(BizLogRecord records, StoreCallback callback){
+        if (records.getThrowable() != null && !doException(records.getThrowable())){
+            callback.onComplete(null);
+            return;
+        }
+        store(records, callback);
+    }
+
+    /**
+     * 实际批量存储日志方法：逐条应用异常过滤后整批交给 {@link #storeBatch(List)}
+     * @param records 日志记录对象
+     */
+    public final void doStoreBatch(List<BizLogRecord> records){
+        List<BizLogRecord> batch = accept(records);
+        if (!batch.isEmpty()) {
+            storeBatch(batch);
+        }
+    }
+
+    /**
+     * 实际批量存储日志方法：逐条应用异常过滤后整批交给 {@link #storeBatch(List, StoreCallback)}，整批落地后回调
+     * @param records 日志记录对象
+     * @param callback 完成回调
+     */
+    public final void doStoreBatch(List<BizLogRecord> records, StoreCallback callback){
+        List<BizLogRecord> batch = accept(records);
+        if (batch.isEmpty()) {
+            callback.onComplete(null);
+            return;
+        }
+        storeBatch(batch, callback);
+    }
+
+    // 异常过滤，没有被过滤的日志时返回原列表
+    private List<BizLogRecord> accept(List<BizLogRecord> records) {
+        List<BizLogRecord> accepted = null;
+        for (int i = 0; i < records.size(); i++) {
+            BizLogRecord record = records.get(i);
+            boolean keep = record.getThrowable() == null || doException(record.getThrowable());
+            if (!keep && accepted == null) {
+                // 出现第一条被过滤的日志时才复制
+                accepted = new ArrayList<>(records.subList(0, i));
+            } else if (keep && accepted != null) {
+                accepted.add(record);
+            }
+        }
+        return accepted == null ? records : accepted;
+    }
 }
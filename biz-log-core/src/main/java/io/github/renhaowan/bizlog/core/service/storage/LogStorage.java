@@ -3,6 +3,8 @@ package io.github.renhaowan.bizlog.core.service.storage;
 import io.github.renhaowan.bizlog.core.log.BizLogRecord;
 import org.springframework.beans.factory.BeanNameAware;
 
+import java.util.List;
+
 /**
  * @author wan
  * 日志存储接口
@@ -15,4 +17,41 @@ public interface LogStorage extends BeanNameAware {
      * @param records 日志记录
      */
     void store(BizLogRecord records);
+
+    /**
+     * 批量存储日志
+     * <p>默认逐条调用 {@link #store(BizLogRecord)}；数据库、文件等存储器可重写该方法，一次写入整批日志以摊薄往返开销</p>
+     *
+     * @param records 日志记录
+     */
+    default void storeBatch(List<BizLogRecord> records) {
+        for (BizLogRecord record : records) {
+            store(record);
+        }
+    }
+
+    /**
+     * 存储日志，落地后回调
+     * <p>要么抛出异常（不回调），要么恰好回调一次（可能在其他线程、稍后回调）；
+     * 默认同步调用 {@link #store(BizLogRecord)} 后立即回调，先入队稍后写入的存储器应重写该方法，在写入完成后回调</p>
+     *
+     * @param record   日志记录
+     * @param callback 完成回调
+     */
+    default void store(BizLogRecord record, StoreCallback callback) {
+        store(record);
+        callback.onComplete(null);
+    }
+
+    /**
+     * 批量存储日志，整批落地后回调一次
+     * <p>回调约定同 {@link #store(BizLogRecord, StoreCallback)}</p>
+     *
+     * @param records  日志记录
+     * @param callback 完成回调
+     */
+    default void storeBatch(List<BizLogRecord> records, StoreCallback callback) {
+        storeBatch(records);
+        callback.onComplete(null);
+    }
 }
@@ -2,21 +2,59 @@ package io.github.renhaowan.bizlog.core.service.storage;
 
 import io.github.renhaowan.bizlog.core.log.BizLogProperties;
 import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import io.github.renhaowan.bizlog.core.service.error.StorageFanOutException;
+import io.github.renhaowan.bizlog.core.service.executor.LogEvent;
+import io.github.renhaowan.bizlog.core.service.metrics.BizLogMetrics;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
  * @author wan
  * 日志存储管理器
  * 策略模式
+ * <p>启用存储器隔离（biz.log.async.isolation）时，异步日志按存储器分发到各自的 {@link StorageLane}，同步日志仍直接写入</p>
+ * <p>启用并行写入（biz.log.sync.parallel）时，同步日志的多个存储器并行写入，各自有超时时间</p>
+ * <p>存储器选择：显式指定的存储器名称 &gt; 路由规则（biz.log.routing）&gt; 默认存储器</p>
  */
+@Slf4j(topic = LogConstant.BIZ_LOG)
 public class LogStorageManager {
 
     private final Map<String, AbstractLogStorage> storageMap = new HashMap<>();
     private final BizLogProperties prop;
+    // 存储器并发许可（仅 mode = virtual 时按存储器配置，未配置的存储器不限制）
+    private final Map<AbstractLogStorage, Semaphore> permits = new HashMap<>();
+    // 存储器通道（仅启用存储器隔离时创建，workers <= 0 的存储器不隔离）
+    private final Map<AbstractLogStorage, StorageLane> lanes = new LinkedHashMap<>();
+    // 异步失败的错误回调：通道写入失败、队列已满，以及存储器稍后回调的写入失败（如攒批提交失败）
+    private volatile BiConsumer<BizLogRecord, Throwable> laneErrorHandler =
+            (record, e) -> log.error("【操作日志】存储器通道写入失败: {}", e.getMessage(), e);
+    // 同步日志并行写入的线程池（仅启用并行写入时创建）
+    private final ThreadPoolExecutor fanOutExecutor;
+    // 默认存储器（启动时解析，默认存储器不存在时为 null，每次按名称解析并抛出异常）
+    private final List<AbstractLogStorage> defaultStorages;
+    // 路由表（未配置路由规则时为 null）
+    private final StorageRouter router;
+    // 存储器写入耗时指标
+    private volatile BizLogMetrics metrics = BizLogMetrics.NOOP;
 
     /**
      * 构造函数
@@ -29,23 +67,476 @@ public class LogStorageManager {
         storageList.forEach(
                 storage -> storageMap.put(storage.getBeanName(), storage)
         );
+        if (prop.getAsync().getMode() == BizLogProperties.Async.Mode.VIRTUAL) {
+            BizLogProperties.Async.Virtual virtual = prop.getAsync().getVirtual();
+            storageMap.forEach((beanName, storage) -> {
+                int limit = virtual.getStorageConcurrency()
+                        .getOrDefault(beanName, virtual.getMaxConcurrencyPerStorage());
+                if (limit > 0) {
+                    permits.put(storage, new Semaphore(limit));
+                }
+            });
+        }
+        BizLogProperties.Async.Isolation isolation = prop.getAsync().getIsolation();
+        if (isolation.isEnabled()) {
+            storageMap.forEach((beanName, storage) -> {
+                BizLogProperties.Async.Isolation.Lane lane = isolation.getStorages().get(beanName);
+                int workers = lane != null && lane.getWorkers() != null ? lane.getWorkers() : isolation.getWorkers();
+                if (workers <= 0) {
+                    return;
+                }
+                lanes.put(storage, new StorageLane(storage,
+                        lane != null && lane.getQueueCapacity() != null ? lane.getQueueCapacity() : isolation.getQueueCapacity(),
+                        workers,
+                        lane != null && lane.getBatchSize() != null ? lane.getBatchSize() : isolation.getBatchSize(),
+                        lane != null && lane.getOfferTimeoutMs() != null ? lane.getOfferTimeoutMs() : isolation.getOfferTimeoutMs(),
+                        (records, callback) -> writeBatch(storage, records, callback),
+                        (record, e) -> laneErrorHandler.accept(record, e)));
+            });
+        }
+        this.defaultStorages = resolveDefaults();
+        List<BizLogProperties.Routing.Rule> rules = prop.getRouting().getRules();
+        this.router = rules.isEmpty() ? null : new StorageRouter(rules, this::resolve, defaultStorages);
+        if (prop.getSync().isParallel()) {
+            int parallelism = Math.max(1, prop.getSync().getParallelism());
+            AtomicInteger index = new AtomicInteger();
+            this.fanOutExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(parallelism * 16), r -> {
+                        Thread t = new Thread(r, LogConstant.BIZ_LOG + "-fan-out-" + index.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            fanOutExecutor.allowCoreThreadTimeOut(true);
+        } else {
+            this.fanOutExecutor = null;
+        }
     }
 
     /**
      * 存储日志
      *
      * @param records             日志记录
-     * @param storageBeanName     存储器名称
+     * @param storageBeanName     存储器名称（未指定时按路由规则选择）
      */
     public void store(BizLogRecord records, String... storageBeanName) {
+        store(records, route(records, storageBeanName));
+    }
+
+    /**
+     * 存储日志到已解析的存储器：启用并行写入且存储器多于一个时并行写入，否则逐个写入
+     * <p>先入队稍后写入的存储器（如攒批的数据库）在入队后返回，之后的写入失败交给错误回调</p>
+     *
+     * @param records  日志记录
+     * @param storages 由 {@link #resolve(String...)} 解析出的存储器
+     * @throws StorageFanOutException 并行写入时有存储器失败或超时
+     */
+    public void store(BizLogRecord records, List<AbstractLogStorage> storages) {
+        if (fanOutExecutor != null && storages.size() > 1) {
+            storeParallel(records, storages);
+            return;
+        }
+        for (AbstractLogStorage storage : storages) {
+            write(storage, records);
+        }
+    }
+
+    /**
+     * 存储日志到单个存储器，落地后回调（用于预写日志重放）
+     *
+     * @param record          日志记录
+     * @param storageBeanName 存储器名称
+     * @param callback        完成回调（抛出异常时不回调）
+     * @throws IllegalArgumentException 存储器不存在
+     */
+    public void store(BizLogRecord record, String storageBeanName, StoreCallback callback) {
+        write(lookup(storageBeanName), record, callback);
+    }
+
+    // 并行写入，按各存储器的超时时间等待，失败和超时汇总后抛出
+    // 线程池已满时该存储器直接记为失败（不在调用线程中无超时地写入），超时的写入会被取消（中断）
+    private void storeParallel(BizLogRecord records, List<AbstractLogStorage> storages) {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(storages.size());
+        Map<String, Throwable> failures = null;
+        for (AbstractLogStorage storage : storages) {
+            Future<?> future;
+            try {
+                future = fanOutExecutor.submit(() -> write(storage, records));
+            } catch (RejectedExecutionException e) {
+                future = null;
+                if (failures == null) {
+                    failures = new LinkedHashMap<>();
+                }
+                failures.put(storage.getBeanName(),
+                        new RejectedExecutionException("storage " + storage.getBeanName() + " rejected: fan-out pool is full", e));
+            }
+            futures.add(future);
+        }
+        for (int i = 0; i < storages.size(); i++) {
+            Future<?> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            String beanName = storages.get(i).getBeanName();
+            long timeoutMs = prop.getSync().getStorageTimeoutMs().getOrDefault(beanName, prop.getSync().getTimeoutMs());
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs) - (System.nanoTime() - start);
+            Throwable failure = null;
+            try {
+                future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                failure = new TimeoutException("storage " + beanName + " timed out after " + timeoutMs + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                failure = e;
+            }
+            if (failure != null) {
+                if (failures == null) {
+                    failures = new LinkedHashMap<>();
+                }
+                failures.put(beanName, failure);
+            }
+        }
+        if (failures != null) {
+            throw new StorageFanOutException(failures, storages.size());
+        }
+    }
+
+    /**
+     * 存储日志事件：逐个存储器写入，每个存储器落地后确认预写日志（失败的不确认，下次启动时重放）；有通道的存储器只入队
+     * <p>某个存储器失败不影响其他存储器，全部处理完后抛出第一个异常（其余作为 suppressed）</p>
+     *
+     * @param event 日志事件（已渲染）
+     */
+    public void store(LogEvent event) {
+        List<AbstractLogStorage> storages;
+        try {
+            storages = event.getStorages() != null
+                    ? event.getStorages()
+                    : route(event.getRecord(), event.getStorageBeanName());
+        } catch (IllegalArgumentException e) {
+            // 存储器不存在：整条日志不会再写入，重启后也无法重放
+            event.complete();
+            throw e;
+        }
+        RuntimeException failure = null;
+        for (AbstractLogStorage storage : storages) {
+            StorageLane lane = lanes.get(storage);
+            if (lane != null) {
+                offer(lane, event);
+                continue;
+            }
+            if (storage.retainsRecords()) {
+                event.discard();
+            }
+            BizLogRecord record = event.getRecord();
+            // 存储器落地后确认（先入队的存储器稍后在其写线程中回调，回调前保持引用）
+            event.retain();
+            try {
+                write(storage, record, error -> {
+                    if (error != null) {
+                        laneErrorHandler.accept(record, error);
+                        event.discard();
+                    } else {
+                        event.ack(storage);
+                    }
+                    event.release();
+                });
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+                event.release();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 批量存储日志：先按目标存储器分组，再对每个存储器整批调用一次，整批落地后确认预写日志（失败的不确认，下次启动时重放）
+     *
+     * @param events  日志事件
+     * @param onError 错误回调（存储器解析失败或整批写入失败时，对涉及的每条日志回调一次，可能在存储器的写线程中回调）
+     */
+    public void storeBatch(List<LogEvent> events, BiConsumer<BizLogRecord, Throwable> onError) {
+        Map<AbstractLogStorage, List<LogEvent>> groups = new LinkedHashMap<>();
+        for (LogEvent event : events) {
+            List<AbstractLogStorage> storages = event.getStorages();
+            if (storages == null) {
+                try {
+                    storages = route(event.getRecord(), event.getStorageBeanName());
+                } catch (IllegalArgumentException e) {
+                    onError.accept(event.getRecord(), e);
+                    event.complete();
+                    event.discard();
+                    continue;
+                }
+            }
+            for (AbstractLogStorage storage : storages) {
+                groups.computeIfAbsent(storage, k -> new ArrayList<>(events.size())).add(event);
+            }
+        }
+        for (Map.Entry<AbstractLogStorage, List<LogEvent>> group : groups.entrySet()) {
+            AbstractLogStorage storage = group.getKey();
+            List<LogEvent> batch = group.getValue();
+            StorageLane lane = lanes.get(storage);
+            if (lane != null) {
+                for (LogEvent event : batch) {
+                    offer(lane, event);
+                }
+                continue;
+            }
+            boolean retains = storage.retainsRecords();
+            List<BizLogRecord> records = new ArrayList<>(batch.size());
+            for (LogEvent event : batch) {
+                records.add(event.getRecord());
+                if (retains) {
+                    event.discard();
+                }
+                // 回调前保持引用
+                event.retain();
+            }
+            StoreCallback callback = error -> {
+                for (LogEvent event : batch) {
+                    if (error != null) {
+                        onError.accept(event.getRecord(), error);
+                        event.discard();
+                    } else {
+                        event.ack(storage);
+                    }
+                    event.release();
+                }
+            };
+            try {
+                writeBatch(storage, records, callback);
+            } catch (Exception e) {
+                callback.onComplete(e);
+            }
+        }
+    }
+
+    /**
+     * 设置异步失败的错误回调（通道写入失败、队列已满丢弃，或存储器落地前稍后失败时，对每条日志回调一次）
+     *
+     * @param laneErrorHandler 错误回调
+     */
+    public void setLaneErrorHandler(BiConsumer<BizLogRecord, Throwable> laneErrorHandler) {
+        this.laneErrorHandler = laneErrorHandler;
+    }
+
+    /**
+     * 设置指标（记录每个存储器的写入耗时）
+     *
+     * @param metrics 指标
+     */
+    public void setMetrics(BizLogMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 获取存储器通道
+     *
+     * @param beanName 存储器名称
+     * @return 通道，未启用隔离或该存储器不隔离时返回 null
+     */
+    public StorageLane getLane(String beanName) {
+        AbstractLogStorage storage = storageMap.get(beanName);
+        return storage == null ? null : lanes.get(storage);
+    }
+
+    /**
+     * 停止存储器通道和并行写入线程池：写完各队列中剩余的日志，总共最多等待 awaitTermination 秒
+     * <p>之后到达通道的日志（如线程池中尚未执行的任务）在调用线程中直接写入</p>
+     */
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(prop.getAsync().getAwaitTermination());
+        for (StorageLane lane : lanes.values()) {
+            lane.shutdown(deadline);
+        }
+    }
+
+    // 入队到存储器通道（通道写完后释放引用），队列已满时只影响该存储器，预写日志不确认（下次启动时重放）
+    private void offer(StorageLane lane, LogEvent event) {
+        event.retain();
+        if (!lane.offer(event)) {
+            laneErrorHandler.accept(event.getRecord(),
+                    new BizLogException("storage queue is full: " + lane.getStorage().getBeanName()));
+            event.discard();
+            event.release();
+        }
+    }
+
+    // 在并发许可内整批写入单个存储器，落地后回调（耗时统计到回调为止）
+    private void writeBatch(AbstractLogStorage storage, List<BizLogRecord> records, StoreCallback callback) {
+        Semaphore permit = acquire(storage);
+        BizLogMetrics m = metrics;
+        long start = m.isEnabled() ? System.nanoTime() : 0;
+        try {
+            storage.doStoreBatch(records, timed(m, storage, start, callback));
+        } catch (RuntimeException | Error e) {
+            if (m.isEnabled()) {
+                m.recordStore(storage.getBeanName(), System.nanoTime() - start, false);
+            }
+            throw e;
+        } finally {
+            release(permit);
+        }
+    }
+
+    /**
+     * 获取存储器写入许可：已达并发上限时阻塞等待（虚拟线程阻塞时不占用平台线程）
+     *
+     * @param storage 存储器
+     * @return 许可，未限制并发时返回 null
+     * @throws BizLogException 等待时线程被中断
+     */
+    private Semaphore acquire(AbstractLogStorage storage) {
+        Semaphore permit = permits.get(storage);
+        if (permit == null) {
+            return null;
+        }
+        try {
+            permit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BizLogException("interrupted while waiting for storage: " + storage.getBeanName(), e);
+        }
+        return permit;
+    }
+
+    // 同步写入单个存储器：稍后回调的失败交给错误回调
+    private void write(AbstractLogStorage storage, BizLogRecord records) {
+        write(storage, records, error -> {
+            if (error != null) {
+                laneErrorHandler.accept(records, error);
+            }
+        });
+    }
+
+    // 在并发许可内写入单个存储器，落地后回调（耗时统计到回调为止）
+    private void write(AbstractLogStorage storage, BizLogRecord records, StoreCallback callback) {
+        Semaphore permit = acquire(storage);
+        BizLogMetrics m = metrics;
+        long start = m.isEnabled() ? System.nanoTime() : 0;
+        try {
+            storage.doStore(records, timed(m, storage, start, callback));
+        } catch (RuntimeException | Error e) {
+            if (m.isEnabled()) {
+                m.recordStore(storage.getBeanName(), System.nanoTime() - start, false);
+            }
+            throw e;
+        } finally {
+            release(permit);
+        }
+    }
+
+    // 回调时记录写入耗时（未启用指标时原样返回）
+    private static StoreCallback timed(BizLogMetrics m, AbstractLogStorage storage, long start, StoreCallback callback) {
+        if (!m.isEnabled()) {
+            return callback;
+        }
+        return error -> {
+            m.recordStore(storage.getBeanName(), System.nanoTime() - start, error == null);
+            callback.onComplete(error);
+        };
+    }
+
+    private void release(Semaphore permit) {
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    /**
+     * 为日志记录选择存储器：指定了存储器名称时按名称解析，否则按路由规则选择，都没有时使用默认存储器
+     *
+     * @param record          日志记录（已渲染）
+     * @param storageBeanName 存储器名称
+     * @return 存储器列表（不可变）
+     * @throws IllegalArgumentException 存储器不存在
+     */
+    public List<AbstractLogStorage> route(BizLogRecord record, String... storageBeanName) {
+        if (storageBeanName != null && storageBeanName.length > 0) {
+            return resolve(storageBeanName);
+        }
+        if (router != null) {
+            List<AbstractLogStorage> storages = router.route(record);
+            if (storages != null) {
+                return storages;
+            }
+        }
+        return resolve();
+    }
+
+    /**
+     * 只按动作编码就能确定的存储器（供调用计划缓存）
+     *
+     * @param actionCode 动作编码
+     * @return 存储器列表；路由依赖异常或 extra 条件时返回 null
+     * @throws IllegalArgumentException 默认存储器不存在
+     */
+    public List<AbstractLogStorage> routeByAction(String actionCode) {
+        if (router == null) {
+            return resolve();
+        }
+        StorageRouter.ActionRoute route = router.forAction(actionCode);
+        if (route.isConditional()) {
+            return null;
+        }
+        return route.getFixed() != null ? route.getFixed() : resolve();
+    }
+
+    /**
+     * 按名称解析存储器（去重，未指定时使用默认存储器）
+     *
+     * @param storageBeanName 存储器名称
+     * @return 存储器列表（不可变）
+     * @throws IllegalArgumentException 存储器不存在
+     */
+    public List<AbstractLogStorage> resolve(String... storageBeanName) {
         if (storageBeanName == null || storageBeanName.length == 0) {
+            if (defaultStorages != null) {
+                return defaultStorages;
+            }
             storageBeanName = prop.getStorageBeanName();
         }
-        for (String beanName : Arrays.stream(storageBeanName).distinct().toList()) {
-            if (!storageMap.containsKey(beanName)) {
-                throw new IllegalArgumentException("storageBeanName: " + beanName + " is not exist");
+        if (storageBeanName.length == 1) {
+            return List.of(lookup(storageBeanName[0]));
+        }
+        List<AbstractLogStorage> storages = new ArrayList<>(storageBeanName.length);
+        for (String beanName : storageBeanName) {
+            AbstractLogStorage storage = lookup(beanName);
+            if (!storages.contains(storage)) {
+                storages.add(storage);
             }
-            storageMap.get(beanName).doStore(records);
+        }
+        return Collections.unmodifiableList(storages);
+    }
+
+    private AbstractLogStorage lookup(String beanName) {
+        AbstractLogStorage storage = storageMap.get(beanName);
+        if (storage == null) {
+            throw new IllegalArgumentException("storageBeanName: " + beanName + " is not exist");
+        }
+        return storage;
+    }
+
+    // 启动时解析默认存储器，失败时保留按名称解析（记录时抛出异常，交给错误处理器）
+    private List<AbstractLogStorage> resolveDefaults() {
+        try {
+            return resolve(prop.getStorageBeanName());
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 
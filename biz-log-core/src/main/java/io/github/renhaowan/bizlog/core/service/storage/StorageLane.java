@@ -0,0 +1,194 @@
+package io.github.renhaowan.bizlog.core.service.storage;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.service.executor.LogDispatchStats;
+import io.github.renhaowan.bizlog.core.service.executor.LogEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * @author wan
+ * 存储器通道：单个存储器独立的有界队列和写线程
+ * 写线程批量取出日志后整批写入，存储器回调完成后确认预写日志，慢存储器只会填满自己的队列，不影响其他存储器
+ * 通道停止后（容器关闭时线程池中仍有待执行的任务）到达的日志在调用线程中直接写入，不会被当作队列已满丢弃
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public final class StorageLane {
+
+    private final AbstractLogStorage storage;
+    private final BlockingQueue<LogEvent> queue;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final BiConsumer<List<BizLogRecord>, StoreCallback> writer;
+    private final Thread[] workers;
+    private final LogDispatchStats stats = new LogDispatchStats();
+
+    private final BiConsumer<BizLogRecord, Throwable> onError;
+    private volatile boolean running = true;
+
+    /**
+     * @param storage        存储器
+     * @param queueCapacity  队列容量
+     * @param workers        写线程数
+     * @param batchSize      每批最多写入的条数
+     * @param offerTimeoutMs 队列已满时的最长等待时间（毫秒）
+     * @param writer         整批写入（抛出异常，或整批落地后回调）
+     * @param onError        错误回调
+     */
+    StorageLane(AbstractLogStorage storage, int queueCapacity, int workers, int batchSize, long offerTimeoutMs,
+                BiConsumer<List<BizLogRecord>, StoreCallback> writer, BiConsumer<BizLogRecord, Throwable> onError) {
+        this.storage = storage;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.writer = writer;
+        this.onError = onError;
+        this.workers = new Thread[Math.max(1, workers)];
+        for (int i = 0; i < this.workers.length; i++) {
+            Thread t = new Thread(this::work, LogConstant.BIZ_LOG + "-lane-" + storage.getBeanName() + "-" + (i + 1));
+            t.setDaemon(true);
+            this.workers[i] = t;
+            t.start();
+        }
+    }
+
+    /**
+     * 入队，队列已满时最多等待 offerTimeoutMs；通道已停止时在调用线程中直接写入
+     *
+     * @param event 日志事件（已渲染）
+     * @return false: 超时仍未入队
+     */
+    boolean offer(LogEvent event) {
+        if (!running) {
+            stats.onAccepted();
+            write(List.of(event));
+            return true;
+        }
+        boolean accepted;
+        try {
+            accepted = offerTimeoutMs == 0
+                    ? queue.offer(event)
+                    : queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            stats.onDropped();
+            return false;
+        }
+        stats.onAccepted();
+        if (!running && queue.remove(event)) {
+            // 入队时通道恰好停止：写线程和 shutdown 可能都已取完队列，由调用线程写入
+            write(List.of(event));
+        }
+        return true;
+    }
+
+    /**
+     * 停止：写线程处理完队列中的日志后退出，最多等待到 deadline
+     *
+     * @param deadline 截止时间（System.currentTimeMillis）
+     */
+    void shutdown(long deadline) {
+        running = false;
+        for (Thread t : workers) {
+            try {
+                t.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<LogEvent> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+
+    /**
+     * @return 存储器
+     */
+    public AbstractLogStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * @return 队列中待写入的日志数
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return 入队统计（成功入队、因队列已满丢弃）
+     */
+    public LogDispatchStats getStats() {
+        return stats;
+    }
+
+    private void work() {
+        List<LogEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LogEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<LogEvent> batch) {
+        List<BizLogRecord> records = new ArrayList<>(batch.size());
+        for (LogEvent event : batch) {
+            records.add(event.getRecord());
+        }
+        // 回调可能在存储器的写线程中稍后执行，批次列表由调用方复用，这里复制一份
+        List<LogEvent> events = List.copyOf(batch);
+        try {
+            writer.accept(records, error -> complete(events, error));
+        } catch (Throwable e) {
+            complete(events, e);
+        }
+    }
+
+    // 整批处理完：成功时确认预写日志，失败的日志逐条交给错误回调（不确认，下次启动时重放），最后释放引用
+    private void complete(List<LogEvent> batch, Throwable e) {
+        if (e == null) {
+            boolean retains = storage.retainsRecords();
+            for (LogEvent event : batch) {
+                event.ack(storage);
+                if (retains) {
+                    event.discard();
+                }
+                event.release();
+            }
+        } else {
+            for (LogEvent event : batch) {
+                try {
+                    onError.accept(event.getRecord(), e);
+                } catch (Throwable ex) {
+                    log.debug("LogErrorHandler rethrow: {}", ex.getMessage());
+                }
+                event.discard();
+                event.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.renhaowan.bizlog.core.service.storage;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * @author wan
+ * 存储器路由表
+ * 启动时把路由规则按动作编码编译为 {@link ActionRoute}：每个动作只保留可能匹配的规则，存储器提前解析，
+ * 第一条无条件规则之后的规则直接裁掉；只按动作路由时结果为常量，可在调用计划中缓存，记录时不再查表
+ */
+public final class StorageRouter {
+
+    // 规则中出现过的动作编码 -> 路由
+    private final Map<String, ActionRoute> routes = new HashMap<>();
+    // 其他动作（只有不限动作的规则适用）
+    private final ActionRoute anyAction;
+
+    /**
+     * @param rules    路由规则
+     * @param resolver 存储器名称解析（名称不存在时抛出 IllegalArgumentException）
+     * @param defaults 默认存储器
+     */
+    StorageRouter(List<BizLogProperties.Routing.Rule> rules,
+                  Function<String[], List<AbstractLogStorage>> resolver,
+                  List<AbstractLogStorage> defaults) {
+        List<CompiledRule> compiled = new ArrayList<>(rules.size());
+        Set<String> actions = new LinkedHashSet<>();
+        for (BizLogProperties.Routing.Rule rule : rules) {
+            if (rule.getStorageBeanName() == null || rule.getStorageBeanName().length == 0) {
+                throw new IllegalArgumentException("biz.log.routing rule without storageBeanName: " + rule);
+            }
+            compiled.add(new CompiledRule(rule, resolver.apply(rule.getStorageBeanName())));
+            actions.addAll(rule.getActions());
+        }
+        for (String action : actions) {
+            routes.put(action, compile(compiled, action, defaults));
+        }
+        this.anyAction = compile(compiled, null, defaults);
+    }
+
+    /**
+     * 获取动作的路由
+     *
+     * @param actionCode 动作编码（可为 null）
+     * @return 路由
+     */
+    public ActionRoute forAction(String actionCode) {
+        if (actionCode == null) {
+            return anyAction;
+        }
+        ActionRoute route = routes.get(actionCode);
+        return route != null ? route : anyAction;
+    }
+
+    /**
+     * 为日志记录选择存储器
+     *
+     * @param record 日志记录
+     * @return 存储器列表（不可变）
+     */
+    public List<AbstractLogStorage> route(BizLogRecord record) {
+        return forAction(record.getAction() != null ? record.getAction().getCode() : null).select(record);
+    }
+
+    private static ActionRoute compile(List<CompiledRule> rules, String action, List<AbstractLogStorage> defaults) {
+        List<CompiledRule> applicable = new ArrayList<>();
+        for (CompiledRule rule : rules) {
+            if (rule.actions.isEmpty() || action != null && rule.actions.contains(action)) {
+                applicable.add(rule);
+                if (rule.unconditional) {
+                    // 之后的规则不会被用到
+                    break;
+                }
+            }
+        }
+        return new ActionRoute(applicable.toArray(new CompiledRule[0]), defaults);
+    }
+
+    /**
+     * 单个动作的路由：按顺序检查条件，第一条匹配的规则生效
+     */
+    public static final class ActionRoute {
+        private final CompiledRule[] rules;
+        private final List<AbstractLogStorage> defaults;
+        // 不依赖日志内容时的固定结果（否则为 null）
+        private final List<AbstractLogStorage> fixed;
+
+        ActionRoute(CompiledRule[] rules, List<AbstractLogStorage> defaults) {
+            this.rules = rules;
+            this.defaults = defaults;
+            if (rules.length == 0) {
+                this.fixed = defaults;
+            } else if (rules[0].unconditional) {
+                this.fixed = rules[0].storages;
+            } else {
+                this.fixed = null;
+            }
+        }
+
+        /**
+         * @return true: 路由结果依赖异常或 extra 条件
+         */
+        public boolean isConditional() {
+            return rules.length > 0 && !rules[0].unconditional;
+        }
+
+        /**
+         * @return 固定的路由结果，依赖异常或 extra 条件时返回 null
+         */
+        public List<AbstractLogStorage> getFixed() {
+            return fixed;
+        }
+
+        /**
+         * 为日志记录选择存储器
+         *
+         * @param record 日志记录
+         * @return 存储器列表（不可变）
+         */
+        public List<AbstractLogStorage> select(BizLogRecord record) {
+            if (fixed != null) {
+                return fixed;
+            }
+            for (CompiledRule rule : rules) {
+                if (rule.matches(record)) {
+                    return rule.storages;
+                }
+            }
+            return defaults;
+        }
+    }
+
+    /**
+     * 编译后的规则
+     */
+    private static final class CompiledRule {
+        private final Set<String> actions;
+        private final Boolean exception;
+        private final String[] extraKeys;
+        // 为 null 表示只要求 key 存在
+        private final String[] extraValues;
+        private final List<AbstractLogStorage> storages;
+        private final boolean unconditional;
+
+        CompiledRule(BizLogProperties.Routing.Rule rule, List<AbstractLogStorage> storages) {
+            this.actions = Set.copyOf(rule.getActions());
+            this.exception = rule.getException();
+            Map<String, String> extra = rule.getExtra() != null ? rule.getExtra() : Map.of();
+            this.extraKeys = new String[extra.size()];
+            this.extraValues = new String[extra.size()];
+            int i = 0;
+            for (Map.Entry<String, String> entry : extra.entrySet()) {
+                String value = entry.getValue();
+                extraKeys[i] = entry.getKey();
+                extraValues[i] = value == null || value.isEmpty() || "*".equals(value) ? null : value;
+                i++;
+            }
+            this.storages = storages;
+            this.unconditional = exception == null && extraKeys.length == 0;
+        }
+
+        boolean matches(BizLogRecord record) {
+            if (exception != null && exception != (record.getThrowable() != null)) {
+                return false;
+            }
+            if (extraKeys.length == 0) {
+                return true;
+            }
+            Map<String, Object> extra = record.getExtra();
+            if (extra == null) {
+                return false;
+            }
+            for (int i = 0; i < extraKeys.length; i++) {
+                if (!extra.containsKey(extraKeys[i])) {
+                    return false;
+                }
+                if (extraValues[i] != null && !extraValues[i].equals(String.valueOf(extra.get(extraKeys[i])))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
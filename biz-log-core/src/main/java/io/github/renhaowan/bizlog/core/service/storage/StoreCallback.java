@@ -0,0 +1,18 @@
+package io.github.renhaowan.bizlog.core.service.storage;
+
+/**
+ * @author wan
+ * 存储完成回调：日志真正落地（提交事务、写入文件）或最终失败时调用一次
+ * 先入队、稍后写入的存储器（攒批的数据库、文件缓冲区）通过它告知调用方实际结果，
+ * 调用方据此确认预写日志，并把失败交给错误处理器
+ */
+@FunctionalInterface
+public interface StoreCallback {
+
+    /**
+     * 存储完成
+     *
+     * @param error 失败原因，写入成功时为 null
+     */
+    void onComplete(Throwable error);
+}
@@ -3,65 +3,124 @@ package io.github.renhaowan.bizlog.core.service.storage.impl;
 import io.github.renhaowan.bizlog.core.log.BizLogRecord;
 import io.github.renhaowan.bizlog.core.log.LogConstant;
 import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * @author wan
  * 控制台日志存储
+ * <p>日志级别在构造时解析一次，记录时先判断级别是否开启，未开启时不拼接消息</p>
+ * <p>structured = true 时通过 SLF4J 键值对输出各字段，由 encoder（如 JSON encoder）决定格式</p>
  */
-@AllArgsConstructor
 @Slf4j(topic = LogConstant.BIZ_LOG)
 public class ConsoleLogStorage extends AbstractLogStorage {
 
-    private ConsoleLogConfig logConfig;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ConsoleLogConfig logConfig;
+    // 构造时选定的日志级别及对应的输出方法
+    private final Level level;
+    private final BooleanSupplier enabled;
+    private final Consumer<String> sink;
 
     /**
-     * 存储日志
-     *
-     * @param records 日志记录
+     * @param logConfig 控制台日志配置
      */
-    @Override
-    public void store(BizLogRecord records) {
-        switch (logConfig.getLogLevel().toUpperCase()){
+    public ConsoleLogStorage(ConsoleLogConfig logConfig) {
+        this.logConfig = logConfig;
+        String logLevel = logConfig.getLogLevel() == null ? ConsoleLogConfig.INFO : logConfig.getLogLevel().toUpperCase();
+        switch (logLevel) {
             case ConsoleLogConfig.DEBUG:
-                log.debug(combineRecords(records));
+                level = Level.DEBUG;
+                enabled = log::isDebugEnabled;
+                sink = log::debug;
                 break;
             case ConsoleLogConfig.WARN:
-                log.warn(combineRecords(records));
+                level = Level.WARN;
+                enabled = log::isWarnEnabled;
+                sink = log::warn;
                 break;
             case ConsoleLogConfig.ERROR:
-                log.error(combineRecords(records));
+                level = Level.ERROR;
+                enabled = log::isErrorEnabled;
+                sink = log::error;
                 break;
             case ConsoleLogConfig.TRACE:
-                log.trace(combineRecords(records));
+                level = Level.TRACE;
+                enabled = log::isTraceEnabled;
+                sink = log::trace;
                 break;
             default:
-                log.info(combineRecords(records));
+                level = Level.INFO;
+                enabled = log::isInfoEnabled;
+                sink = log::info;
+        }
+    }
+
+    /**
+     * 存储日志
+     *
+     * @param records 日志记录
+     */
+    @Override
+    public void store(BizLogRecord records) {
+        if (!enabled.getAsBoolean()) {
+            return;
+        }
+        if (logConfig.isStructured()) {
+            storeStructured(records);
+        } else {
+            sink.accept(combineRecords(records));
         }
     }
 
+    // 键值对输出：action、actionDesc、content、time 及 extra 中的各字段
+    private void storeStructured(BizLogRecord records) {
+        LoggingEventBuilder builder = log.atLevel(level)
+                .addKeyValue("action", records.getAction() != null ? records.getAction().getCode() : null)
+                .addKeyValue("actionDesc", records.getAction() != null ? records.getAction().getDesc() : null)
+                .addKeyValue("content", records.getContent())
+                .addKeyValue("time", records.getTime() != null ? records.getTime().format(TIME_FORMATTER) : null);
+        if (records.getExtra() != null) {
+            for (Map.Entry<String, Object> entry : records.getExtra().entrySet()) {
+                builder.addKeyValue(entry.getKey(), entry.getValue());
+            }
+        }
+        builder.log("【操作日志】 {}", records.getContent());
+    }
+
     // 组合records
     private String combineRecords(BizLogRecord records) {
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(128);
         sb.append("【操作日志】");
         sb.append(" | 操作类型: ").append(records.getAction() != null ? records.getAction().getDesc() : "未指定");
         sb.append(" | 操作内容: ").append(records.getContent() != null ? records.getContent() : "无");
-        sb.append(" | 操作时间: ").append(records.getTime() != null ?
-                records.getTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : "无");
+        sb.append(" | 操作时间: ");
+        if (records.getTime() != null) {
+            TIME_FORMATTER.formatTo(records.getTime(), sb);
+        } else {
+            sb.append("无");
+        }
         // 处理额外信息
         if (records.getExtra() != null && !records.getExtra().isEmpty()) {
             sb.append(" | 扩展信息: ");
-            for (Map.Entry<String, Object> entry : records.getExtra().entrySet()){
-                sb.append(entry.getKey()).append(": ")
-                        .append(entry.getValue()).append(" , ");
+            boolean first = true;
+            for (Map.Entry<String, Object> entry : records.getExtra().entrySet()) {
+                if (!first) {
+                    sb.append(" , ");
+                }
+                first = false;
+                sb.append(entry.getKey()).append(": ").append(entry.getValue());
             }
-            sb.delete(sb.length() - 2, sb.length());
         }
 
         return sb.toString();
@@ -97,6 +156,11 @@ public class ConsoleLogStorage extends AbstractLogStorage {
 
         private String logLevel;
 
+        /**
+         * 是否以键值对输出（SLF4J fluent API），默认为拼接后的单行文本
+         */
+        private boolean structured;
+
         /**
          * 日志级别: DEBUG
          */
@@ -0,0 +1,582 @@
+package io.github.renhaowan.bizlog.core.service.storage.impl;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.service.codec.RecordDecoder;
+import io.github.renhaowan.bizlog.core.service.codec.RecordEncoder;
+import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
+import io.github.renhaowan.bizlog.core.service.storage.StoreCallback;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * @author wan
+ * 文件日志存储
+ * 记录线程把日志编码后拷贝进池化的直接内存缓冲区，缓冲区写满或等待超过 flushIntervalMs 后
+ * 由独立的写线程通过 FileChannel 整块写入（组提交），不与应用日志框架竞争；
+ * 文件按时间段和大小滚动，滚动时清理超过保留天数的文件
+ * <p>binary 格式：文件头 magic(int) + version(int)，之后每个缓冲区为一块：length(int) + 若干条二进制编码的记录，
+ * 编码字典以块为单位（每块重新开始），可用 {@link #readBinary(Path, Consumer)} 读取</p>
+ * <p>带 {@link StoreCallback} 的存储在所在缓冲区写入文件（开启 forceOnFlush 时刷盘）后回调，写入失败时回调异常；
+ * 不带回调时写入缓冲区即返回，进程崩溃时可能丢失最近 flushIntervalMs 内的日志（需要时配合预写日志使用）</p>
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class FileLogStorage extends AbstractLogStorage {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final int BINARY_MAGIC = 0x424C4631; // "BLF1"
+    private static final int BINARY_VERSION = 1;
+
+    private final Path dir;
+    private final String fileName;
+    private final DateTimeFormatter periodFormat;
+    private final long maxFileSize;
+    private final int maxHistoryDays;
+    private final long flushIntervalMs;
+    private final boolean forceOnFlush;
+    private final String suffix;
+
+    // binary 格式的编码器，字典对应当前缓冲区（由 this 保护，text 格式为 null）
+    private final RecordEncoder encoder;
+
+    // 空闲缓冲区
+    private final BlockingQueue<ByteBuffer> free;
+    // 待写入的缓冲区
+    private final BlockingQueue<Block> full = new LinkedBlockingQueue<>();
+    // 当前填充的缓冲区及其中日志的完成回调（由 this 保护）
+    private ByteBuffer current;
+    private List<Completion> completions = new ArrayList<>();
+    private volatile boolean running = true;
+    private final Thread writer;
+
+    // 以下仅写线程访问
+    private FileChannel channel;
+    private String period;
+    private int index;
+    private long fileSize;
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(8);
+
+    /**
+     * @param file 文件存储器配置
+     */
+    public FileLogStorage(BizLogProperties.Storage.File file) {
+        this.dir = Paths.get(file.getDir());
+        this.fileName = file.getFileName();
+        this.periodFormat = DateTimeFormatter.ofPattern(file.getTimePattern());
+        this.maxFileSize = (long) Math.max(1, file.getMaxFileSizeMb()) << 20;
+        this.maxHistoryDays = file.getMaxHistoryDays();
+        this.flushIntervalMs = Math.max(1, file.getFlushIntervalMs());
+        this.forceOnFlush = file.isForceOnFlush();
+        boolean binary = file.getFormat() == BizLogProperties.Storage.File.Format.BINARY;
+        this.suffix = binary ? ".bin" : ".log";
+        this.encoder = binary ? new RecordEncoder() : null;
+        int buffers = Math.max(2, file.getBuffers());
+        this.free = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            free.add(ByteBuffer.allocateDirect(Math.max(1, file.getBufferSizeKb()) << 10));
+        }
+        this.current = free.poll();
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.writer = new Thread(this::writeLoop, LogConstant.BIZ_LOG + "-file-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 存储日志
+     *
+     * @param records 日志记录
+     */
+    @Override
+    public void store(BizLogRecord records) {
+        storeBatch(List.of(records));
+    }
+
+    /**
+     * 批量存储日志：整批只加一次锁
+     *
+     * @param records 日志记录
+     */
+    @Override
+    public void storeBatch(List<BizLogRecord> records) {
+        append(records, null);
+    }
+
+    /**
+     * 存储日志，所在缓冲区写入文件后回调
+     *
+     * @param record   日志记录
+     * @param callback 完成回调
+     */
+    @Override
+    public void store(BizLogRecord record, StoreCallback callback) {
+        storeBatch(List.of(record), callback);
+    }
+
+    /**
+     * 批量存储日志，涉及的缓冲区全部写入文件后回调一次；追加失败（已关闭、等待缓冲区时被中断）同样通过回调告知
+     *
+     * @param records  日志记录
+     * @param callback 完成回调
+     */
+    @Override
+    public void storeBatch(List<BizLogRecord> records, StoreCallback callback) {
+        Completion completion = new Completion(callback);
+        Throwable error = null;
+        try {
+            append(records, completion);
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        // 追加阶段结束：已交出的缓冲区可能先写完，计数归零后才回调
+        completion.done(error);
+    }
+
+    // 编码并追加整批日志（text 格式在锁外编码）
+    private void append(List<BizLogRecord> records, Completion completion) {
+        if (encoder != null) {
+            synchronized (this) {
+                for (BizLogRecord record : records) {
+                    appendBinary(record, completion);
+                }
+            }
+            return;
+        }
+        List<byte[]> lines = new ArrayList<>(records.size());
+        for (BizLogRecord record : records) {
+            lines.add(encode(record));
+        }
+        synchronized (this) {
+            for (byte[] line : lines) {
+                append(line, completion);
+            }
+        }
+    }
+
+    // 追加到当前缓冲区，空间不足时交给写线程并取下一个空闲缓冲区（均在写入中时等待）
+    private void append(byte[] bytes, Completion completion) {
+        if (!running) {
+            throw new BizLogException("FileLogStorage is closed");
+        }
+        if (current.remaining() >= bytes.length) {
+            current.put(bytes);
+            track(completion);
+            return;
+        }
+        handOff();
+        if (bytes.length > current.capacity()) {
+            // 超过单个缓冲区大小：直接交给写线程
+            full.add(oversized(ByteBuffer.wrap(bytes).position(bytes.length), completion));
+            return;
+        }
+        current.put(bytes);
+        track(completion);
+    }
+
+    // 二进制编码后追加：字典与当前缓冲区对应，换缓冲区时重置字典并重新编码（调用方持有 this）
+    private void appendBinary(BizLogRecord record, Completion completion) {
+        if (!running) {
+            throw new BizLogException("FileLogStorage is closed");
+        }
+        encoder.clear();
+        encoder.writeRecord(record);
+        if (current.remaining() >= encoder.size()) {
+            current.put(encoder.toByteBuffer());
+            track(completion);
+            return;
+        }
+        handOff();
+        encoder.reset();
+        encoder.writeRecord(record);
+        if (encoder.size() > current.capacity()) {
+            // 超过单个缓冲区大小：单独成块
+            full.add(oversized(ByteBuffer.wrap(encoder.toByteArray()).position(encoder.size()), completion));
+            encoder.reset();
+            return;
+        }
+        current.put(encoder.toByteBuffer());
+        track(completion);
+    }
+
+    // 当前缓冲区写入文件后回调（同一次存储在同一缓冲区只登记一次，调用方持有 this）
+    private void track(Completion completion) {
+        if (completion != null && (completions.isEmpty() || completions.get(completions.size() - 1) != completion)) {
+            completion.add();
+            completions.add(completion);
+        }
+    }
+
+    // 单独成块的超大日志
+    private static Block oversized(ByteBuffer buf, Completion completion) {
+        if (completion == null) {
+            return new Block(buf, List.of());
+        }
+        completion.add();
+        return new Block(buf, List.of(completion));
+    }
+
+    // 交出当前缓冲区（调用方持有 this）
+    private void handOff() {
+        if (current.position() == 0) {
+            return;
+        }
+        ByteBuffer next;
+        try {
+            // 先取到空闲缓冲区再交出：其余缓冲区都在写入中，写完即归还
+            next = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BizLogException("interrupted while waiting for file buffer", e);
+        }
+        full.add(new Block(current, completions));
+        current = next;
+        completions = new ArrayList<>();
+        if (encoder != null) {
+            encoder.reset();
+        }
+    }
+
+    // 写线程：缓冲区写满立即写入，否则等待 flushIntervalMs 后写入当前缓冲区
+    private void writeLoop() {
+        try {
+            while (running || !full.isEmpty()) {
+                Block block = full.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (block == null) {
+                    block = swapCurrent();
+                }
+                if (block != null) {
+                    write(block);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    // 取走未写满的当前缓冲区，换上一个空闲缓冲区
+    private Block swapCurrent() {
+        synchronized (this) {
+            if (current == null || current.position() == 0) {
+                return null;
+            }
+            ByteBuffer next = free.poll();
+            if (next == null) {
+                // 其余缓冲区都在待写队列中，下一轮处理
+                return null;
+            }
+            Block block = new Block(current, completions);
+            current = next;
+            completions = new ArrayList<>();
+            if (encoder != null) {
+                encoder.reset();
+            }
+            return block;
+        }
+    }
+
+    // 写入一块，完成后（无论成败）通知块中日志的回调
+    private void write(Block block) {
+        ByteBuffer buf = block.buf;
+        buf.flip();
+        IOException error = null;
+        try {
+            if (encoder != null) {
+                roll(buf.remaining() + 4);
+                blockHeader.clear();
+                if (fileSize == 0) {
+                    blockHeader.putInt(BINARY_MAGIC).putInt(BINARY_VERSION).flip();
+                    while (blockHeader.hasRemaining()) {
+                        fileSize += channel.write(blockHeader);
+                    }
+                    blockHeader.clear();
+                }
+                blockHeader.putInt(buf.remaining()).flip();
+                while (blockHeader.hasRemaining()) {
+                    fileSize += channel.write(blockHeader);
+                }
+            } else {
+                roll(buf.remaining());
+            }
+            while (buf.hasRemaining()) {
+                fileSize += channel.write(buf);
+            }
+            if (forceOnFlush) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.error("FileLogStorage write failed, {} bytes lost: {}", buf.remaining(), e.getMessage());
+            closeChannel();
+            error = e;
+        } finally {
+            buf.clear();
+            if (buf.isDirect()) {
+                free.offer(buf);
+            }
+        }
+        for (Completion completion : block.completions) {
+            completion.done(error);
+        }
+    }
+
+    // 按时间段和大小滚动
+    private void roll(int incoming) throws IOException {
+        String now = LocalDateTime.now().format(periodFormat);
+        if (channel != null && now.equals(period) && (fileSize == 0 || fileSize + incoming <= maxFileSize)) {
+            return;
+        }
+        closeChannel();
+        if (!now.equals(period)) {
+            period = now;
+            index = 0;
+        }
+        // 跳过已写满的文件（含重启前写入的文件）
+        Path file = file(period, index);
+        while (Files.exists(file) && Files.size(file) > 0 && Files.size(file) + incoming > maxFileSize) {
+            file = file(period, ++index);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+        cleanup();
+    }
+
+    private Path file(String period, int index) {
+        return dir.resolve(fileName + "-" + period + "." + index + suffix);
+    }
+
+    // 清理超过保留天数的文件
+    private void cleanup() {
+        if (maxHistoryDays <= 0) {
+            return;
+        }
+        Instant expire = Instant.now().minus(maxHistoryDays, ChronoUnit.DAYS);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(fileName + "-") && name.endsWith(suffix);
+            }).forEach(f -> {
+                try {
+                    if (Files.getLastModifiedTime(f).toInstant().isBefore(expire)) {
+                        Files.delete(f);
+                    }
+                } catch (IOException e) {
+                    log.warn("FileLogStorage cleanup failed: {}", f, e);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("FileLogStorage cleanup failed: {}", dir, e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("FileLogStorage close failed", e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * 读取 binary 格式的日志文件（内存映射，直接从映射区解码）
+     *
+     * @param file     日志文件
+     * @param consumer 日志记录
+     * @throws IOException 读取失败
+     */
+    public static void readBinary(Path file, Consumer<BizLogRecord> consumer) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buf.remaining() < 8 || buf.getInt() != BINARY_MAGIC || buf.getInt() != BINARY_VERSION) {
+            throw new BizLogException("not a biz-log binary file: " + file);
+        }
+        while (buf.remaining() >= 4) {
+            int length = buf.getInt();
+            if (length <= 0 || length > buf.remaining()) {
+                // 进程崩溃时最后一块可能不完整
+                break;
+            }
+            RecordDecoder decoder = new RecordDecoder(buf.slice(buf.position(), length));
+            while (decoder.hasRemaining()) {
+                consumer.accept(decoder.readRecord());
+            }
+            buf.position(buf.position() + length);
+        }
+    }
+
+    /**
+     * 编码为一行：时间 | 动作编码 | 内容 | 扩展信息 | 异常
+     *
+     * @param record 日志记录
+     * @return UTF-8 字节
+     */
+    private static byte[] encode(BizLogRecord record) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(record.getTime() != null ? TIME_FORMAT.format(record.getTime()) : "-");
+        sb.append(" | ").append(record.getAction() != null ? record.getAction().getCode() : "-");
+        sb.append(" | ");
+        appendEscaped(sb, record.getContent());
+        sb.append(" | ");
+        Map<String, Object> extra = record.getExtra();
+        if (extra != null && !extra.isEmpty()) {
+            boolean first = true;
+            for (Map.Entry<String, Object> entry : extra.entrySet()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                sb.append(entry.getKey()).append('=');
+                appendEscaped(sb, entry.getValue() != null ? String.valueOf(entry.getValue()) : null);
+            }
+        } else {
+            sb.append('-');
+        }
+        if (record.getThrowable() != null) {
+            sb.append(" | ");
+            appendEscaped(sb, record.getThrowable().toString());
+        }
+        sb.append('\n');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 换行转义，保证一条日志一行
+    private static void appendEscaped(StringBuilder sb, String s) {
+        if (s == null) {
+            sb.append('-');
+            return;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n') {
+                sb.append("\\n");
+            } else if (c == '\r') {
+                sb.append("\\r");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * 是否处理异常
+     *
+     * @param ex 异常
+     * @return true: 处理异常
+     */
+    @Override
+    protected boolean shouldStoreWhenException(Throwable ex) {
+        return true;
+    }
+
+    /**
+     * 处理异常：异常摘要随日志写入文件，这里不再单独输出
+     *
+     * @param ex 异常
+     */
+    @Override
+    protected void handleException(Throwable ex) {
+    }
+
+    /* 由 Spring 容器在销毁时调用：写完剩余日志后关闭文件 */
+    @PreDestroy
+    public void destroy() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            if (current.position() > 0) {
+                full.add(new Block(current, completions));
+                current = null;
+            }
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 待写入的一块：缓冲区 + 其中日志的完成回调
+     */
+    private static final class Block {
+        private final ByteBuffer buf;
+        private final List<Completion> completions;
+
+        Block(ByteBuffer buf, List<Completion> completions) {
+            this.buf = buf;
+            this.completions = completions;
+        }
+    }
+
+    /**
+     * 一次存储的完成计数：追加阶段占一个计数，每登记到一块加一，全部结束后回调一次（带第一个失败原因）
+     */
+    private static final class Completion {
+        private final StoreCallback callback;
+        private int pending = 1;
+        private Throwable error;
+
+        Completion(StoreCallback callback) {
+            this.callback = callback;
+        }
+
+        synchronized void add() {
+            pending++;
+        }
+
+        void done(Throwable e) {
+            Throwable result;
+            synchronized (this) {
+                if (e != null && error == null) {
+                    error = e;
+                }
+                if (--pending > 0) {
+                    return;
+                }
+                result = error;
+            }
+            try {
+                callback.onComplete(result);
+            } catch (RuntimeException ex) {
+                log.debug("StoreCallback rethrow: {}", ex.getMessage());
+            }
+        }
+    }
+}
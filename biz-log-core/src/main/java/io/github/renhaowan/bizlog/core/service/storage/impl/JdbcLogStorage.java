@@ -0,0 +1,408 @@
+package io.github.renhaowan.bizlog.core.service.storage.impl;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
+import io.github.renhaowan.bizlog.core.service.storage.StoreCallback;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * @author wan
+ * 数据库日志存储
+ * 使用多行 INSERT（一条语句 rowsPerStatement 行）+ addBatch/executeBatch，每 batchSize 行提交一次事务，
+ * 把逐条插入的数据库往返次数降低到 1/rowsPerStatement
+ * <p>批量存储（异步模式下由分发线程调用）同步写库，提交成功后返回；
+ * 单条存储先进入队列，由后台线程攒满 batchSize 或等待 flushIntervalMs 后统一提交，
+ * 提交或回滚后通过 {@link StoreCallback} 告知调用方（未传回调时失败只记录日志）</p>
+ * <pre>
+ * 表结构：action_code, content, log_time, throwable, extra（extra 为 JSON 字符串）
+ * </pre>
+ * 超出建表列长度的值按列长度截断（extra 截断后不再是完整的 JSON），一条过长的日志不会让整个事务回滚
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class JdbcLogStorage extends AbstractLogStorage {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+    private static final String COLUMNS = "action_code, content, log_time, throwable, extra";
+    private static final int COLUMN_COUNT = 5;
+    // 列长度（字符数），与建表语句一致
+    private static final int ACTION_LENGTH = 64;
+    private static final int CONTENT_LENGTH = 2048;
+    private static final int THROWABLE_LENGTH = 1024;
+    private static final int EXTRA_LENGTH = 4096;
+
+    private final DataSource dataSource;
+    private final String tableName;
+    private final int rowsPerStatement;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    // rowsPerStatement 行的 INSERT 语句
+    private final String fullInsert;
+
+    // 单条存储的攒批队列（flushIntervalMs <= 0 时为 null）
+    private final BlockingQueue<Pending> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * @param dataSource 数据源
+     * @param jdbc       数据库存储器配置
+     */
+    public JdbcLogStorage(DataSource dataSource, BizLogProperties.Storage.Jdbc jdbc) {
+        if (!TABLE_NAME.matcher(jdbc.getTableName()).matches()) {
+            throw new BizLogException("illegal biz log table name: " + jdbc.getTableName());
+        }
+        this.dataSource = dataSource;
+        this.tableName = jdbc.getTableName();
+        this.rowsPerStatement = Math.max(1, jdbc.getRowsPerStatement());
+        this.batchSize = Math.max(rowsPerStatement, jdbc.getBatchSize());
+        this.flushIntervalMs = jdbc.getFlushIntervalMs();
+        this.fullInsert = insertSql(rowsPerStatement);
+        if (jdbc.isInitSchema()) {
+            initSchema();
+        }
+        if (flushIntervalMs > 0) {
+            this.queue = new ArrayBlockingQueue<>(Math.max(batchSize, jdbc.getQueueCapacity()));
+            this.flusher = new Thread(this::flushLoop, LogConstant.BIZ_LOG + "-jdbc-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        } else {
+            this.queue = null;
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * 存储日志：进入攒批队列，队列已满或未开启攒批时直接写库；攒批写入失败时只记录日志
+     *
+     * @param records 日志记录
+     */
+    @Override
+    public void store(BizLogRecord records) {
+        store(records, null);
+    }
+
+    /**
+     * 存储日志：进入攒批队列，提交后回调；队列已满或未开启攒批时直接写库后回调
+     *
+     * @param record   日志记录
+     * @param callback 完成回调（为 null 时失败只记录日志）
+     */
+    @Override
+    public void store(BizLogRecord record, StoreCallback callback) {
+        if (queue == null) {
+            write(List.of(record));
+            complete(callback, null);
+            return;
+        }
+        if (!running) {
+            throw new BizLogException("JdbcLogStorage is closed");
+        }
+        if (!queue.offer(new Pending(record, callback))) {
+            write(List.of(record));
+            complete(callback, null);
+        }
+    }
+
+    /**
+     * 单条日志放入队列由刷写线程写库，store 返回后仍持有日志记录
+     *
+     * @return 启用刷写线程时返回 true
+     */
+    @Override
+    public boolean retainsRecords() {
+        return queue != null;
+    }
+
+    /**
+     * 批量存储日志：同步写库，每 batchSize 行提交一次
+     *
+     * @param records 日志记录
+     */
+    @Override
+    public void storeBatch(List<BizLogRecord> records) {
+        write(records);
+    }
+
+    /**
+     * 停止后台线程并写入队列中剩余的日志
+     */
+    @PreDestroy
+    public void destroy() {
+        if (flusher == null || !running) {
+            return;
+        }
+        // 不中断后台线程，避免打断进行中的数据库写入；最多 flushIntervalMs 后退出循环
+        running = false;
+        try {
+            flusher.join(flushIntervalMs + TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> rest = new ArrayList<>(queue.size());
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(rest.size(), from + batchSize)));
+        }
+    }
+
+    // 后台攒批：取到第一条后最多等待 flushIntervalMs 或攒满 batchSize
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 一个事务写入攒批的日志（不超过 batchSize 条），提交或回滚后逐条回调
+    private void flush(List<Pending> batch) {
+        List<BizLogRecord> records = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            records.add(pending.record);
+        }
+        Throwable error = null;
+        try {
+            write(records);
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        boolean logged = false;
+        for (Pending pending : batch) {
+            if (error != null && pending.callback == null && !logged) {
+                log.error("JdbcLogStorage write {} records failed", batch.size(), error);
+                logged = true;
+            }
+            complete(pending.callback, error);
+        }
+    }
+
+    private static void complete(StoreCallback callback, Throwable error) {
+        if (callback == null) {
+            return;
+        }
+        try {
+            callback.onComplete(error);
+        } catch (RuntimeException e) {
+            log.debug("StoreCallback rethrow: {}", e.getMessage());
+        }
+    }
+
+    // 按 batchSize 分段，每段一个事务
+    private void write(List<BizLogRecord> records) {
+        for (int from = 0; from < records.size(); from += batchSize) {
+            List<BizLogRecord> chunk = records.subList(from, Math.min(records.size(), from + batchSize));
+            try (Connection conn = dataSource.getConnection()) {
+                boolean autoCommit = conn.getAutoCommit();
+                if (autoCommit) {
+                    conn.setAutoCommit(false);
+                }
+                try {
+                    insert(conn, chunk);
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    if (autoCommit) {
+                        conn.setAutoCommit(true);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new BizLogException("JdbcLogStorage write " + chunk.size() + " records failed", e);
+            }
+        }
+    }
+
+    // 完整的 rowsPerStatement 行走 addBatch/executeBatch，余下的行一条语句插入
+    private void insert(Connection conn, List<BizLogRecord> records) throws SQLException {
+        int full = records.size() / rowsPerStatement;
+        if (full > 0) {
+            try (PreparedStatement ps = conn.prepareStatement(fullInsert)) {
+                for (int i = 0; i < full; i++) {
+                    bind(ps, records, i * rowsPerStatement, rowsPerStatement);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        int rest = records.size() - full * rowsPerStatement;
+        if (rest > 0) {
+            try (PreparedStatement ps = conn.prepareStatement(insertSql(rest))) {
+                bind(ps, records, full * rowsPerStatement, rest);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, List<BizLogRecord> records, int from, int rows) throws SQLException {
+        int index = 1;
+        for (int i = from; i < from + rows; i++) {
+            BizLogRecord record = records.get(i);
+            ps.setString(index++, truncate(record.getAction() != null ? record.getAction().getCode() : null, ACTION_LENGTH));
+            ps.setString(index++, truncate(record.getContent(), CONTENT_LENGTH));
+            if (record.getTime() != null) {
+                ps.setTimestamp(index++, Timestamp.valueOf(record.getTime()));
+            } else {
+                ps.setNull(index++, Types.TIMESTAMP);
+            }
+            ps.setString(index++, truncate(record.getThrowable() != null ? record.getThrowable().toString() : null, THROWABLE_LENGTH));
+            ps.setString(index++, truncate(toJson(record.getExtra()), EXTRA_LENGTH));
+        }
+    }
+
+    // 截断到列长度，不拆开代理对
+    private static String truncate(String value, int length) {
+        if (value == null || value.length() <= length) {
+            return value;
+        }
+        int end = Character.isHighSurrogate(value.charAt(length - 1)) ? length - 1 : length;
+        return value.substring(0, end);
+    }
+
+    private String insertSql(int rows) {
+        StringBuilder sb = new StringBuilder(64 + rows * (COLUMN_COUNT * 3 + 3));
+        sb.append("INSERT INTO ").append(tableName).append(" (").append(COLUMNS).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append("(?, ?, ?, ?, ?)");
+        }
+        return sb.toString();
+    }
+
+    private void initSchema() {
+        String ddl = "CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                + "action_code VARCHAR(" + ACTION_LENGTH + "), "
+                + "content VARCHAR(" + CONTENT_LENGTH + "), "
+                + "log_time TIMESTAMP, "
+                + "throwable VARCHAR(" + THROWABLE_LENGTH + "), "
+                + "extra VARCHAR(" + EXTRA_LENGTH + "))";
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute(ddl);
+        } catch (SQLException e) {
+            throw new BizLogException("JdbcLogStorage init schema failed: " + tableName, e);
+        }
+    }
+
+    // extra 转为 JSON 对象：数字、布尔原样输出，其余按字符串输出
+    private static String toJson(Map<String, Object> extra) {
+        if (extra == null || extra.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(extra.size() * 24);
+        sb.append('{');
+        for (Map.Entry<String, Object> entry : extra.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            appendJsonString(sb, entry.getKey());
+            sb.append(':');
+            Object value = entry.getValue();
+            if (value == null) {
+                sb.append("null");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                sb.append(value);
+            } else {
+                appendJsonString(sb, String.valueOf(value));
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void appendJsonString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (c == '\r') {
+                sb.append("\\r");
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * 是否处理异常
+     *
+     * @param ex 异常
+     * @return true: 处理异常
+     */
+    @Override
+    protected boolean shouldStoreWhenException(Throwable ex) {
+        return true;
+    }
+
+    /**
+     * 异常处理
+     *
+     * @param ex 异常
+     */
+    @Override
+    protected void handleException(Throwable ex) {
+    }
+
+    /**
+     * 队列中等待提交的日志及其回调
+     */
+    private static final class Pending {
+        private final BizLogRecord record;
+        private final StoreCallback callback;
+
+        Pending(BizLogRecord record, StoreCallback callback) {
+            this.record = record;
+            this.callback = callback;
+        }
+    }
+}
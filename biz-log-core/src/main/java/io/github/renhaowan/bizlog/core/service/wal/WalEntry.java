@@ -0,0 +1,32 @@
+package io.github.renhaowan.bizlog.core.service.wal;
+
+/**
+ * @author wan
+ * 预写日志条目句柄：随日志事件传递，各目标存储器处理完后按下标确认，整条日志不再处理时标记完成
+ */
+public final class WalEntry {
+
+    private final WalSegment segment;
+    private final int offset;
+
+    WalEntry(WalSegment segment, int offset) {
+        this.segment = segment;
+        this.offset = offset;
+    }
+
+    /**
+     * 确认第 storageIndex 个目标存储器已写入成功（重复确认无副作用）
+     *
+     * @param storageIndex 存储器在目标列表中的下标
+     */
+    public void ack(int storageIndex) {
+        segment.ack(offset, storageIndex);
+    }
+
+    /**
+     * 标记整个条目完成（渲染或路由失败、已写入兜底存储器），重启后不再重放
+     */
+    public void complete() {
+        segment.complete(offset);
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.renhaowan.bizlog.core.service.wal;
+
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author wan
+ * 预写日志段文件（内存映射）
+ * <pre>
+ * 文件头：magic(int) + version(int)
+ * 条目：  length(int) + ackMask(int) + storageCount(int) + payload(length)
+ * </pre>
+ * 条目先写 ackMask、storageCount 和 payload，最后写 length 作为提交标记；length 为 0 表示段内已无更多条目。
+ * ackMask 第 i 位表示第 i 个目标存储器已处理完（写入成功、失败后已交给错误处理器或被丢弃），全部置位后条目完成；
+ * 封存后的段在所有条目完成时删除
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+final class WalSegment {
+
+    static final int MAGIC = 0x424C5731; // "BLW1"
+    static final int VERSION = 1;
+    static final int FILE_HEADER = 8;
+    static final int ENTRY_HEADER = 12;
+
+    private final long sequence;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+
+    // 下一个条目的写入位置（仅追加线程访问）
+    private int writePosition = FILE_HEADER;
+    // 已写入但未完成的条目数
+    private int pending;
+    // 是否已封存（不再追加）
+    private boolean sealed;
+
+    private WalSegment(long sequence, Path file, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 创建新段
+     *
+     * @param file     文件
+     * @param sequence 段序号
+     * @param size     段大小
+     * @return 段
+     */
+    static WalSegment create(Path file, long sequence, int size) {
+        WalSegment segment = new WalSegment(sequence, file, map(file, size, true));
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, VERSION);
+        return segment;
+    }
+
+    /**
+     * 打开已有段（用于重放），打开后即为封存状态
+     *
+     * @param file     文件
+     * @param sequence 段序号
+     * @return 段，文件头不合法时返回 null
+     */
+    static WalSegment open(Path file, long sequence) {
+        int size;
+        try {
+            size = (int) Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (size < FILE_HEADER) {
+            return null;
+        }
+        WalSegment segment = new WalSegment(sequence, file, map(file, size, false));
+        if (segment.buffer.getInt(0) != MAGIC || segment.buffer.getInt(4) != VERSION) {
+            return null;
+        }
+        segment.sealed = true;
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path file, int size, boolean create) {
+        StandardOpenOption[] options = create
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        // 映射建立后即可关闭通道，映射在缓冲区被回收前一直有效
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 追加条目（由 {@link WriteAheadLog} 串行调用）
+     *
+     * @param payload      条目内容
+     * @param storageCount 目标存储器数量
+     * @return 条目偏移量，空间不足时返回 -1
+     */
+    int append(ByteBuffer payload, int storageCount) {
+        int offset = writePosition;
+        int length = payload.remaining();
+        if ((long) offset + ENTRY_HEADER + length + 4 > buffer.capacity()) {
+            return -1;
+        }
+        buffer.putInt(offset + 4, 0);
+        buffer.putInt(offset + 8, storageCount);
+        buffer.put(offset + ENTRY_HEADER, payload, payload.position(), length);
+        synchronized (this) {
+            pending++;
+        }
+        // 提交标记
+        buffer.putInt(offset, length);
+        writePosition = offset + ENTRY_HEADER + length;
+        return offset;
+    }
+
+    /**
+     * 确认条目的一个目标存储器已处理完
+     *
+     * @param offset       条目偏移量
+     * @param storageIndex 存储器下标
+     */
+    synchronized void ack(int offset, int storageIndex) {
+        mark(offset, buffer.getInt(offset + 4) | 1 << storageIndex);
+    }
+
+    /**
+     * 整个条目标记为完成（墓碑）：丢弃、无法渲染或无法解码的条目，重放时不再处理
+     *
+     * @param offset 条目偏移量
+     */
+    synchronized void complete(int offset) {
+        mark(offset, fullMask(buffer.getInt(offset + 8)));
+    }
+
+    private void mark(int offset, int mask) {
+        int old = buffer.getInt(offset + 4);
+        if (mask == old) {
+            return;
+        }
+        buffer.putInt(offset + 4, mask);
+        int full = fullMask(buffer.getInt(offset + 8));
+        if (old != full && mask == full) {
+            pending--;
+            deleteIfDone();
+        }
+    }
+
+    /**
+     * 封存：不再追加，所有条目完成后删除
+     */
+    synchronized void seal() {
+        sealed = true;
+        deleteIfDone();
+    }
+
+    /**
+     * 统计未完成的条目数（打开已有段后调用）
+     */
+    synchronized void countPending() {
+        pending = 0;
+        for (int offset = FILE_HEADER; ; ) {
+            int length = entryLength(offset);
+            if (length <= 0) {
+                break;
+            }
+            if (ackMask(offset) != fullMask(storageCount(offset))) {
+                pending++;
+            }
+            offset = next(offset);
+        }
+        deleteIfDone();
+    }
+
+    /**
+     * 刷盘
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 刷盘指定区间
+     *
+     * @param offset 起始位置
+     * @param length 长度
+     */
+    void force(int offset, int length) {
+        buffer.force(offset, length);
+    }
+
+    // 条目长度（0 表示无更多条目）
+    int entryLength(int offset) {
+        if (offset + ENTRY_HEADER > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        return offset + ENTRY_HEADER + length > buffer.capacity() ? 0 : length;
+    }
+
+    int ackMask(int offset) {
+        return buffer.getInt(offset + 4);
+    }
+
+    int storageCount(int offset) {
+        return buffer.getInt(offset + 8);
+    }
+
+    // 条目内容的视图（不复制）
+    ByteBuffer payload(int offset) {
+        return buffer.slice(offset + ENTRY_HEADER, buffer.getInt(offset));
+    }
+
+    // 下一个条目的偏移量
+    int next(int offset) {
+        return offset + ENTRY_HEADER + buffer.getInt(offset);
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    synchronized int getPending() {
+        return pending;
+    }
+
+    static int fullMask(int storageCount) {
+        return storageCount >= 32 ? -1 : (1 << storageCount) - 1;
+    }
+
+    private void deleteIfDone() {
+        if (sealed && pending == 0) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("BizLog WAL segment delete failed: {}", file, e);
+            }
+        }
+    }
+}
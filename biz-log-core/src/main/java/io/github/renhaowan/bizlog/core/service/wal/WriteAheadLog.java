@@ -0,0 +1,290 @@
+package io.github.renhaowan.bizlog.core.service.wal;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.log.action.AbstractBizAction;
+import io.github.renhaowan.bizlog.core.service.codec.RecordDecoder;
+import io.github.renhaowan.bizlog.core.service.codec.RecordEncoder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * @author wan
+ * 预写日志
+ * 异步日志入队前先追加到内存映射的段文件，各目标存储器写入成功后逐个确认，渲染或路由失败、已写入兜底存储器的日志整条标记完成；
+ * 写入失败、存储器队列已满或被溢出策略丢弃的日志不确认，与进程崩溃时未处理完的日志一样，下次启动时重放（至少一次语义，可能重复写入）
+ * <p>有未确认条目的段文件保留到重放成功为止</p>
+ * <p>追加只是一次内存拷贝，刷盘由后台线程按间隔组提交，单条日志的持久化开销在微秒级</p>
+ */
+@Slf4j(topic = LogConstant.BIZ_LOG)
+public class WriteAheadLog {
+
+    private static final String PREFIX = "biz-log-";
+    private static final String SUFFIX = ".wal";
+    // 每个条目独立编码（字典不跨条目），重放时条目可单独解码
+    private static final ThreadLocal<RecordEncoder> ENCODER = ThreadLocal.withInitial(RecordEncoder::new);
+
+    private final Path dir;
+    private final int segmentSize;
+    private final long syncIntervalMs;
+    private final Set<String> actions;
+
+    // 启动时已存在且含未完成条目的段
+    private final List<WalSegment> recovered = new ArrayList<>();
+    // 当前追加的段
+    private WalSegment active;
+    private long nextSequence;
+    private boolean closed;
+
+    // 组提交
+    private final ScheduledExecutorService syncer;
+    private volatile boolean dirty;
+
+    /**
+     * @param wal 预写日志配置
+     */
+    public WriteAheadLog(BizLogProperties.Async.Wal wal) {
+        this.dir = Paths.get(wal.getDir());
+        this.segmentSize = Math.max(1, wal.getSegmentSizeMb()) << 20;
+        this.syncIntervalMs = wal.getSyncIntervalMs();
+        this.actions = new HashSet<>(wal.getActions());
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (Path file : listSegments()) {
+            long sequence = sequenceOf(file);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            WalSegment segment = WalSegment.open(file, sequence);
+            if (segment == null) {
+                log.warn("BizLog WAL ignore invalid segment: {}", file);
+                continue;
+            }
+            segment.countPending();
+            if (segment.getPending() > 0) {
+                recovered.add(segment);
+            }
+        }
+        this.active = newSegment();
+        if (syncIntervalMs > 0) {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, LogConstant.BIZ_LOG + "-wal-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            syncer.scheduleWithFixedDelay(this::sync, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.syncer = null;
+        }
+    }
+
+    /**
+     * 是否需要预写该动作的日志
+     *
+     * @param action 业务动作
+     * @return true: 需要
+     */
+    public boolean accepts(AbstractBizAction action) {
+        return actions.isEmpty() || action != null && actions.contains(action.getCode());
+    }
+
+    /**
+     * 追加日志
+     *
+     * @param record       日志记录（已渲染）
+     * @param storageNames 目标存储器名称，确认时的下标与此列表一致
+     * @return 条目句柄，无法预写（已关闭、存储器超过 32 个、单条超过段大小）时返回 null
+     */
+    public WalEntry append(BizLogRecord record, List<String> storageNames) {
+        if (storageNames.isEmpty() || storageNames.size() > 32) {
+            return null;
+        }
+        RecordEncoder encoder = ENCODER.get();
+        encoder.reset();
+        encoder.writeVarint(storageNames.size());
+        for (String name : storageNames) {
+            encoder.writeString(name);
+        }
+        encoder.writeRecord(record);
+        ByteBuffer payload = encoder.toByteBuffer();
+        int length = payload.remaining();
+        if (WalSegment.FILE_HEADER + WalSegment.ENTRY_HEADER + length + 4 > segmentSize) {
+            log.warn("BizLog WAL record too large ({} bytes), skip write-ahead", length);
+            return null;
+        }
+        synchronized (this) {
+            if (closed) {
+                return null;
+            }
+            int offset = active.append(payload, storageNames.size());
+            if (offset < 0) {
+                rotate();
+                offset = active.append(payload, storageNames.size());
+            }
+            if (syncIntervalMs == 0) {
+                active.force(offset, WalSegment.ENTRY_HEADER + length);
+            } else {
+                dirty = true;
+            }
+            return new WalEntry(active, offset);
+        }
+    }
+
+    /**
+     * 重放启动前未确认的条目：对每个未确认的目标存储器调用一次 store，由 store 在存储器写入成功后确认，
+     * 写入失败或 store 抛出异常时不确认，下次启动时再次重放；无法解码的条目标记完成，不会在每次启动时重复告警
+     *
+     * @param store 存储动作
+     * @return 重放的条目数
+     */
+    public int replay(ReplayTarget store) {
+        int replayed = 0;
+        for (WalSegment segment : recovered) {
+            for (int offset = WalSegment.FILE_HEADER; segment.entryLength(offset) > 0; offset = segment.next(offset)) {
+                int mask = segment.ackMask(offset);
+                if (mask == WalSegment.fullMask(segment.storageCount(offset))) {
+                    continue;
+                }
+                List<String> storageNames;
+                BizLogRecord record;
+                try {
+                    RecordDecoder decoder = new RecordDecoder(segment.payload(offset));
+                    int count = decoder.readVarint();
+                    storageNames = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        storageNames.add(decoder.readString());
+                    }
+                    record = decoder.readRecord();
+                } catch (RuntimeException e) {
+                    log.warn("BizLog WAL drop unreadable entry: segment={}, offset={}", segment.getSequence(), offset, e);
+                    segment.complete(offset);
+                    continue;
+                }
+                // 条目头记录的存储器数量多于解码出的名称（条目损坏）：多出的位直接置位
+                for (int i = storageNames.size(); i < segment.storageCount(offset); i++) {
+                    segment.ack(offset, i);
+                }
+                for (int i = 0; i < storageNames.size(); i++) {
+                    if ((mask & (1 << i)) == 0) {
+                        int index = i;
+                        int entry = offset;
+                        try {
+                            store.store(record, storageNames.get(i), () -> segment.ack(entry, index));
+                        } catch (RuntimeException e) {
+                            log.warn("BizLog WAL replay failed: segment={}, offset={}", segment.getSequence(), offset, e);
+                        }
+                    }
+                }
+                replayed++;
+            }
+        }
+        recovered.clear();
+        return replayed;
+    }
+
+    /**
+     * 关闭：停止组提交并刷盘
+     * <p>关闭后仍可确认已追加的条目（映射在缓冲区回收前有效），新日志不再预写</p>
+     */
+    public void close() {
+        WalSegment segment;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            segment = active;
+        }
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        if (syncIntervalMs >= 0) {
+            segment.force();
+        }
+    }
+
+    // 组提交：有新追加时刷盘当前段
+    private void sync() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        WalSegment segment;
+        synchronized (this) {
+            segment = active;
+        }
+        try {
+            segment.force();
+        } catch (RuntimeException e) {
+            log.warn("BizLog WAL sync failed", e);
+        }
+    }
+
+    // 滚动：当前段刷盘并封存，创建新段
+    private void rotate() {
+        WalSegment old = active;
+        if (syncIntervalMs >= 0) {
+            old.force();
+        }
+        active = newSegment();
+        old.seal();
+    }
+
+    private WalSegment newSegment() {
+        long sequence = nextSequence++;
+        return WalSegment.create(dir.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX)), sequence, segmentSize);
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> {
+                        String name = f.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX) && sequenceOf(f) >= 0;
+                    })
+                    .sorted(Comparator.comparingLong(WriteAheadLog::sequenceOf))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 重放目标：把日志写入一个存储器
+     */
+    @FunctionalInterface
+    public interface ReplayTarget {
+
+        /**
+         * @param record          日志记录
+         * @param storageBeanName 存储器名称
+         * @param ack             存储器写入成功（或已无法重放，如存储器不存在）时调用一次，未调用的条目下次启动时再次重放
+         */
+        void store(BizLogRecord record, String storageBeanName, Runnable ack);
+    }
+}
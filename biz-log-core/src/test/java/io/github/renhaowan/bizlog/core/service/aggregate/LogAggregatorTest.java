@@ -0,0 +1,156 @@
+package io.github.renhaowan.bizlog.core.service.aggregate;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.LogConstant;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.service.executor.LogEvent;
+import io.github.renhaowan.bizlog.core.service.pool.LogRecordPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author wan
+ * 重复日志聚合测试：合并结果与对象池记录的释放
+ */
+class LogAggregatorTest {
+
+    private static final String[] STORAGE = {"consoleLogStorage"};
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final List<LogEvent> delivered = new CopyOnWriteArrayList<>();
+    private LogRecordPool pool;
+    private LogAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        BizLogProperties.Async.Pool poolConfig = new BizLogProperties.Async.Pool();
+        poolConfig.setStripes(1);
+        pool = new LogRecordPool(poolConfig);
+        BizLogProperties.Aggregation aggregation = new BizLogProperties.Aggregation();
+        aggregation.setWindowMs(60_000);
+        aggregator = new LogAggregator(aggregation, delivered::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.close();
+    }
+
+    @Test
+    void mergesDuplicatesAndReleasesPooledRecords() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(aggregator.offer(event("重复日志", i)));
+        }
+        assertEquals(2, aggregator.getMerged());
+        assertEquals(1, aggregator.getPendingKeys());
+        // 被合并的记录立即归还：第三条复用了第二条的记录
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getMisses());
+
+        aggregator.close();
+
+        assertEquals(1, delivered.size());
+        BizLogRecord record = delivered.get(0).getRecord();
+        assertEquals("重复日志", record.getContent());
+        assertEquals(3L, record.getExtra().get(LogConstant.AGGREGATE_COUNT_KEY));
+        assertEquals(TIME, record.getExtra().get(LogConstant.AGGREGATE_FIRST_TIME_KEY));
+        assertEquals(TIME.plusSeconds(2), record.getExtra().get(LogConstant.AGGREGATE_LAST_TIME_KEY));
+        // 第一条在生成合并日志后归还，池中的两条记录都可再次借出
+        for (int i = 0; i < 2; i++) {
+            assertNotSame(record, pool.borrow());
+        }
+        assertEquals(3, pool.getHits());
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    void singleRecordIsDeliveredAsIs() {
+        LogEvent event = event("只有一条", 0);
+        assertTrue(aggregator.offer(event));
+
+        aggregator.close();
+
+        assertEquals(1, delivered.size());
+        // 原样交给下游，由下游释放
+        assertSame(event, delivered.get(0));
+        assertEquals("只有一条", event.getRecord().getContent());
+        assertFalse(event.getRecord().getExtra().containsKey(LogConstant.AGGREGATE_COUNT_KEY));
+    }
+
+    @Test
+    void differentContentIsNotMerged() {
+        assertTrue(aggregator.offer(event("a", 0)));
+        assertTrue(aggregator.offer(event("b", 1)));
+
+        aggregator.close();
+
+        assertEquals(2, delivered.size());
+        assertEquals(0, aggregator.getMerged());
+        assertFalse(aggregator.offer(event("a", 2)));
+    }
+
+    @Test
+    void everyAcceptedRecordIsDeliveredWhenClosedConcurrently() throws InterruptedException {
+        int threads = 4;
+        AtomicLong accepted = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String content = "线程" + t;
+            Thread producer = new Thread(() -> {
+                started.countDown();
+                int i = 0;
+                while (!stop.get()) {
+                    if (aggregator.offer(event(content + (i++ % 8), 0))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        started.await();
+        Thread.sleep(20);
+
+        aggregator.close();
+        stop.set(true);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        // 关闭后不再接受，已接受的都在最终 flush 中交出
+        long delivered = 0;
+        for (LogEvent event : this.delivered) {
+            Object count = event.getRecord().getExtra().get(LogConstant.AGGREGATE_COUNT_KEY);
+            delivered += count != null ? (Long) count : 1L;
+        }
+        assertEquals(accepted.get(), delivered);
+        assertEquals(0, aggregator.getPendingKeys());
+    }
+
+    private LogEvent event(String content, int second) {
+        BizLogRecord record = pool.borrow();
+        record.setAction(BizActions.of("QUERY"));
+        record.setContent(content);
+        record.setTime(TIME.plusSeconds(second));
+        record.getExtra().put("userId", 1L);
+        return new LogEvent(record, STORAGE, null);
+    }
+}
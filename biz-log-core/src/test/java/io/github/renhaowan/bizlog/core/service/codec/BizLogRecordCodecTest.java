@@ -0,0 +1,210 @@
+package io.github.renhaowan.bizlog.core.service.codec;
+
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.action.AbstractBizAction;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.service.error.ThrowableSummary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author wan
+ * 二进制编解码往返测试
+ */
+class BizLogRecordCodecTest {
+
+    @Test
+    void roundTripsAllFields() {
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("string", "订单 #1");
+        extra.put("int", -42);
+        extra.put("intMin", Integer.MIN_VALUE);
+        extra.put("short", (short) -300);
+        extra.put("byte", (byte) -7);
+        extra.put("long", Long.MAX_VALUE);
+        extra.put("true", true);
+        extra.put("false", false);
+        extra.put("double", 3.5d);
+        extra.put("nan", Double.NaN);
+        extra.put("float", -0.25f);
+        extra.put("decimal", new BigDecimal("12345678901234567890.000123"));
+        extra.put("dateTime", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999));
+        extra.put("null", null);
+        BizLogRecord record = BizLogRecord.builder()
+                .action(BizActions.of("CREATE"))
+                .content("创建订单 😀")
+                .time(LocalDateTime.of(2025, 6, 1, 12, 30, 45, 123_456_789))
+                .throwable(new IllegalStateException("库存不足"))
+                .extra(extra)
+                .build();
+
+        BizLogRecord decoded = BizLogRecordCodec.decode(ByteBuffer.wrap(BizLogRecordCodec.encode(record)));
+
+        assertEquals("CREATE", decoded.getAction().getCode());
+        assertEquals(record.getContent(), decoded.getContent());
+        assertEquals(record.getTime(), decoded.getTime());
+        ThrowableSummary thrown = assertInstanceOf(ThrowableSummary.class, decoded.getThrowable());
+        assertEquals(IllegalStateException.class.getName(), thrown.getClassName());
+        assertEquals("库存不足", thrown.getMessage());
+        assertEquals(extra, decoded.getExtra());
+        // 值类型保持不变
+        for (Map.Entry<String, Object> entry : extra.entrySet()) {
+            if (entry.getValue() != null) {
+                assertEquals(entry.getValue().getClass(), decoded.getExtra().get(entry.getKey()).getClass(), entry.getKey());
+            }
+        }
+    }
+
+    @Test
+    void roundTripsEmptyRecord() {
+        BizLogRecord decoded = BizLogRecordCodec.decode(ByteBuffer.wrap(BizLogRecordCodec.encode(new BizLogRecord())));
+
+        assertNull(decoded.getAction());
+        assertNull(decoded.getContent());
+        assertNull(decoded.getTime());
+        assertNull(decoded.getThrowable());
+        assertNull(decoded.getExtra());
+    }
+
+    @Test
+    void unsupportedExtraTypesAreStoredAsString() {
+        BizLogRecord record = BizLogRecord.builder()
+                .extra(Map.of("list", List.of(1, 2), "char", 'c'))
+                .build();
+
+        BizLogRecord decoded = BizLogRecordCodec.decode(ByteBuffer.wrap(BizLogRecordCodec.encode(record)));
+
+        assertEquals("[1, 2]", decoded.getExtra().get("list"));
+        assertEquals("c", decoded.getExtra().get("char"));
+    }
+
+    @Test
+    void unpairedSurrogateIsEncodedLikeStringGetBytes() {
+        String content = "a\uD800b\uDC00c";
+        BizLogRecord record = BizLogRecord.builder().content(content).build();
+
+        BizLogRecord decoded = BizLogRecordCodec.decode(ByteBuffer.wrap(BizLogRecordCodec.encode(record)));
+
+        assertEquals(new String(content.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), decoded.getContent());
+    }
+
+    @Test
+    void unregisteredActionDecodesToPlaceholder() {
+        // 自定义动作未注册（如写入后已下线）
+        String code = "NOT_REGISTERED";
+        BizLogRecord record = BizLogRecord.builder()
+                .action(new AbstractBizAction() {
+                    @Override
+                    public String getCode() {
+                        return code;
+                    }
+
+                    @Override
+                    public String getDesc() {
+                        return "未注册";
+                    }
+                })
+                .content("c")
+                .build();
+
+        BizLogRecord decoded = BizLogRecordCodec.decode(ByteBuffer.wrap(BizLogRecordCodec.encode(record)));
+
+        assertEquals(code, decoded.getAction().getCode());
+        assertEquals(code, decoded.getAction().getDesc());
+        assertThrows(RuntimeException.class, () -> BizActions.of(code));
+    }
+
+    @Test
+    void streamReusesDictionaryAcrossRecords() {
+        RecordEncoder encoder = new RecordEncoder();
+        BizLogRecord first = record("first");
+        BizLogRecord second = record("second");
+        encoder.writeRecord(first);
+        int firstSize = encoder.size();
+        encoder.writeRecord(second);
+        int secondSize = encoder.size() - firstSize;
+        // 第二条记录的动作编码、extra key、异常类名只写字典下标
+        assertTrue(secondSize < firstSize);
+
+        // 直接内存解码
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoder.size());
+        direct.put(encoder.toByteBuffer()).flip();
+        RecordDecoder decoder = new RecordDecoder(direct);
+        assertEquals("first", decoder.readRecord().getContent());
+        BizLogRecord decoded = decoder.readRecord();
+        assertEquals("second", decoded.getContent());
+        assertEquals("UPDATE", decoded.getAction().getCode());
+        assertEquals(Map.of("orderId", 7L, "operator", "wan"), decoded.getExtra());
+        assertFalse(decoder.hasRemaining());
+    }
+
+    @Test
+    void clearKeepsDictionaryAndResetStartsNewStream() {
+        RecordEncoder encoder = new RecordEncoder();
+        encoder.writeRecord(record("a"));
+        int fresh = encoder.size();
+        encoder.clear();
+        encoder.writeRecord(record("a"));
+        assertTrue(encoder.size() < fresh);
+        encoder.reset();
+        encoder.writeRecord(record("a"));
+        assertEquals(fresh, encoder.size());
+
+        assertEquals("a", new RecordDecoder(encoder.toByteBuffer()).readRecord().getContent());
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] bytes = BizLogRecordCodec.encode(record("a"));
+        bytes[0] = 99;
+
+        assertThrows(RuntimeException.class, () -> BizLogRecordCodec.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void varintsRoundTripAtBoundaries() {
+        RecordEncoder encoder = new RecordEncoder();
+        int[] ints = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1};
+        long[] longs = {0L, 127L, 128L, Long.MAX_VALUE, -1L};
+        for (int v : ints) {
+            encoder.writeVarint(v);
+        }
+        for (long v : longs) {
+            encoder.writeVarlong(v);
+        }
+        RecordDecoder decoder = new RecordDecoder(encoder.toByteBuffer());
+        for (int v : ints) {
+            assertEquals(v, decoder.readVarint());
+        }
+        for (long v : longs) {
+            assertEquals(v, decoder.readVarlong());
+        }
+    }
+
+    private static BizLogRecord record(String content) {
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("orderId", 7L);
+        extra.put("operator", "wan");
+        return BizLogRecord.builder()
+                .action(BizActions.of("UPDATE"))
+                .content(content)
+                .time(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .throwable(new IllegalArgumentException("bad"))
+                .extra(extra)
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.renhaowan.bizlog.core.service.executor;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * @author wan
+ * 环形缓冲区异步引擎测试：停止时已接受的事件都被处理
+ */
+class RingBufferLogDispatcherTest {
+
+    @Test
+    void everyAcceptedEventIsHandledWhenShutdownConcurrently() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            AtomicLong handled = new AtomicLong();
+            RingBufferLogDispatcher dispatcher = new RingBufferLogDispatcher(new BizLogProperties.Async(),
+                    batch -> handled.addAndGet(batch.size()));
+            int threads = 4;
+            AtomicLong accepted = new AtomicLong();
+            AtomicBoolean stop = new AtomicBoolean();
+            CountDownLatch started = new CountDownLatch(threads);
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread producer = new Thread(() -> {
+                    started.countDown();
+                    while (!stop.get()) {
+                        if (dispatcher.offer(event())) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                });
+                producer.start();
+                producers.add(producer);
+            }
+            started.await();
+
+            dispatcher.shutdown();
+            stop.set(true);
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertEquals(accepted.get(), handled.get());
+            assertFalse(dispatcher.offer(event()));
+        }
+    }
+
+    private static LogEvent event() {
+        return new LogEvent(BizLogRecord.builder().content("订单").build(), null, null);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.renhaowan.bizlog.core.service.parse.impl;
+
+import io.github.renhaowan.bizlog.core.service.parse.ParseContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author wan
+ * SpEL 解析器拓展上下文测试：expand 只执行一次，expandPerCall 每次求值执行
+ */
+class SpelLogTemplateParserTest {
+
+    private final AtomicInteger expanded = new AtomicInteger();
+    private final ThreadLocal<String> tenant = new ThreadLocal<>();
+    private GenericApplicationContext applicationContext;
+    private SpelLogTemplateParser parser;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = new GenericApplicationContext();
+        applicationContext.refresh();
+        parser = new SpelLogTemplateParser(applicationContext, new SpelLogTemplateParser.SpelExpansionContext() {
+            @Override
+            public void expand(StandardEvaluationContext ec) {
+                expanded.incrementAndGet();
+                ec.registerFunction("str", ReflectionUtils.findMethod(String.class, "valueOf", Object.class));
+                ec.setVariable("app", "order-service");
+                ec.setVariable("id", "shadowed");
+            }
+
+            @Override
+            public void expandPerCall(EvaluationContext ec) {
+                ec.setVariable("tenant", tenant.get());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenant.remove();
+        applicationContext.close();
+    }
+
+    @Test
+    void perCallVariablesFollowTheCurrentRequest() {
+        String template = "#{#app}/#{#tenant}: #{#str(#id)}";
+
+        tenant.set("t1");
+        assertEquals("order-service/t1: 7", parser.parse(template, context(7)));
+        tenant.set("t2");
+        assertEquals("order-service/t2: 8", parser.parse(template, context(8)));
+        assertEquals(1, expanded.get());
+    }
+
+    @Test
+    void perCallVariablesOverrideArguments() {
+        tenant.set("from-expansion");
+
+        ParseContext ctx = new ParseContext(null, Map.of("tenant", "from-arg"), null, null, Map.of());
+
+        assertEquals("from-expansion", parser.parse("#{#tenant}", ctx));
+    }
+
+    private static ParseContext context(int id) {
+        return new ParseContext(null, Map.of("id", id), null, null, Map.of());
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.renhaowan.bizlog.core.service.storage.impl;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.service.error.BizLogException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author wan
+ * 数据库存储器集成测试（嵌入式 H2）
+ */
+class JdbcLogStorageTest {
+
+    private static final String REJECTED = "rejected";
+
+    private JdbcDataSource dataSource;
+    private JdbcLogStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:biz-log-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (storage != null) {
+            storage.destroy();
+        }
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void storeBatchInsertsAllRowsInOrder() throws SQLException {
+        storage = newStorage(50, 500, 0);
+        List<BizLogRecord> records = records(1000);
+        records.get(7).setExtra(Map.of("id", 7, "name", "a\"b"));
+
+        storage.storeBatch(records);
+
+        assertEquals(1000, count());
+        List<String> contents = contents();
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals("content-" + i, contents.get(i));
+        }
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT action_code, extra FROM biz_log WHERE content = 'content-7'")) {
+            assertTrue(rs.next());
+            assertEquals("CREATE", rs.getString(1));
+            assertTrue(rs.getString(2).contains("\"id\":7"));
+            assertTrue(rs.getString(2).contains("\"name\":\"a\\\"b\""));
+        }
+    }
+
+    @Test
+    void storeBatchWritesPartialLastChunk() throws SQLException {
+        // 120 行一个事务：120 + 120 + 23，每个事务里不足 50 行的部分单独一条语句
+        storage = newStorage(50, 120, 0);
+
+        storage.storeBatch(records(263));
+
+        assertEquals(263, count());
+        assertEquals("content-262", contents().get(262));
+    }
+
+    @Test
+    void queuedRecordsAreFlushedOnShutdown() throws SQLException, InterruptedException {
+        storage = newStorage(10, 100, 200);
+        int total = 250;
+        CountDownLatch completed = new CountDownLatch(total);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        for (BizLogRecord record : records(total)) {
+            storage.store(record, error -> {
+                if (error != null) {
+                    errors.add(error);
+                }
+                completed.countDown();
+            });
+        }
+
+        storage.destroy();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertTrue(errors.isEmpty());
+        assertEquals(total, count());
+        assertThrows(BizLogException.class, () -> storage.store(records(1).get(0)));
+    }
+
+    @Test
+    void failedChunkIsRolledBack() throws SQLException {
+        storage = newStorage(10, 100, 0);
+        List<BizLogRecord> records = records(250);
+        // 第二个事务中的一行违反约束
+        rejectContent();
+        records.get(150).setContent(REJECTED);
+
+        assertThrows(BizLogException.class, () -> storage.storeBatch(records));
+
+        // 第一个事务已提交，第二个事务整体回滚，第三个事务不再执行
+        assertEquals(100, count());
+        assertEquals("content-99", contents().get(99));
+    }
+
+    @Test
+    void overlongValuesAreTruncatedToColumnLength() throws SQLException {
+        storage = newStorage(10, 100, 0);
+        List<BizLogRecord> records = records(20);
+        BizLogRecord overlong = records.get(5);
+        // 截断位置落在代理对中间时不拆开
+        overlong.setContent("x".repeat(2047) + "😀" + "y".repeat(100));
+        overlong.setThrowable(new IllegalStateException("e".repeat(5000)));
+        overlong.setExtra(Map.of("payload", "p".repeat(5000)));
+
+        storage.storeBatch(records);
+
+        assertEquals(20, count());
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT content, throwable, extra FROM biz_log WHERE log_time = TIMESTAMP '2025-01-01 00:00:05'")) {
+            assertTrue(rs.next());
+            assertEquals("x".repeat(2047), rs.getString(1));
+            assertEquals(1024, rs.getString(2).length());
+            assertTrue(rs.getString(2).startsWith(IllegalStateException.class.getName()));
+            assertEquals(4096, rs.getString(3).length());
+        }
+    }
+
+    @Test
+    void failedFlushIsReportedToCallbacks() throws SQLException, InterruptedException {
+        storage = newStorage(10, 100, 50);
+        List<BizLogRecord> records = records(5);
+        rejectContent();
+        records.get(2).setContent(REJECTED);
+        CountDownLatch completed = new CountDownLatch(records.size());
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        for (BizLogRecord record : records) {
+            storage.store(record, error -> {
+                if (error != null) {
+                    errors.add(error);
+                }
+                completed.countDown();
+            });
+        }
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(records.size(), errors.size());
+        assertInstanceOf(BizLogException.class, errors.get(0));
+        assertEquals(0, count());
+    }
+
+    @Test
+    void queuedRecordIsCommittedBeforeCallback() throws SQLException, InterruptedException {
+        storage = newStorage(10, 100, 50);
+        CountDownLatch completed = new CountDownLatch(1);
+        Throwable[] result = new Throwable[1];
+        long[] rows = new long[1];
+        storage.store(records(1).get(0), error -> {
+            result[0] = error;
+            try {
+                rows[0] = count();
+            } catch (SQLException e) {
+                result[0] = e;
+            }
+            completed.countDown();
+        });
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertNull(result[0]);
+        assertEquals(1, rows[0]);
+    }
+
+    // 内容为 REJECTED 的行违反约束，用于模拟写入失败
+    private void rejectContent() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("ALTER TABLE biz_log ADD CONSTRAINT reject_content CHECK (content <> '" + REJECTED + "')");
+        }
+    }
+
+    private JdbcLogStorage newStorage(int rowsPerStatement, int batchSize, long flushIntervalMs) {
+        BizLogProperties.Storage.Jdbc jdbc = new BizLogProperties.Storage.Jdbc();
+        jdbc.setInitSchema(true);
+        jdbc.setRowsPerStatement(rowsPerStatement);
+        jdbc.setBatchSize(batchSize);
+        jdbc.setFlushIntervalMs(flushIntervalMs);
+        JdbcLogStorage jdbcLogStorage = new JdbcLogStorage(dataSource, jdbc);
+        jdbcLogStorage.setBeanName("jdbcLogStorage");
+        return jdbcLogStorage;
+    }
+
+    private static List<BizLogRecord> records(int count) {
+        List<BizLogRecord> records = new ArrayList<>(count);
+        LocalDateTime time = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            records.add(BizLogRecord.builder()
+                    .action(BizActions.of("CREATE"))
+                    .content("content-" + i)
+                    .time(time.plusSeconds(i))
+                    .build());
+        }
+        return records;
+    }
+
+    private long count() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM biz_log")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // 按写入时间排序的内容
+    private List<String> contents() throws SQLException {
+        List<String> contents = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT content FROM biz_log ORDER BY log_time")) {
+            while (rs.next()) {
+                contents.add(rs.getString(1));
+            }
+        }
+        return contents;
+    }
+}
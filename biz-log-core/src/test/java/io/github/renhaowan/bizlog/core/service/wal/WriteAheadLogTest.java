@@ -0,0 +1,150 @@
+package io.github.renhaowan.bizlog.core.service.wal;
+
+import io.github.renhaowan.bizlog.core.log.BizLogProperties;
+import io.github.renhaowan.bizlog.core.log.BizLogRecord;
+import io.github.renhaowan.bizlog.core.log.action.BizActions;
+import io.github.renhaowan.bizlog.core.service.executor.LogEvent;
+import io.github.renhaowan.bizlog.core.service.storage.AbstractLogStorage;
+import io.github.renhaowan.bizlog.core.service.storage.LogStorageManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author wan
+ * 预写日志测试：只有写入成功的存储器被确认，失败的在下次启动时重放
+ */
+class WriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    private BizLogProperties.Async.Wal config;
+    private TestStorage db;
+    private TestStorage file;
+    private LogStorageManager storageManager;
+    private WriteAheadLog wal;
+
+    @BeforeEach
+    void setUp() {
+        config = new BizLogProperties.Async.Wal();
+        config.setDir(dir.toString());
+        config.setSyncIntervalMs(-1);
+        db = new TestStorage("dbLogStorage");
+        file = new TestStorage("fileLogStorage");
+        storageManager = new LogStorageManager(List.of(db, file), new BizLogProperties());
+        wal = new WriteAheadLog(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wal.close();
+        storageManager.shutdown();
+    }
+
+    @Test
+    void failedStorageIsReplayedOnNextStart() {
+        db.failing = true;
+        LogEvent event = append(record("删除订单"));
+
+        // 异常抛给调用方（异步引擎交给错误处理器），其他存储器照常写入
+        assertThrows(IllegalStateException.class, () -> storageManager.store(event));
+        assertEquals(1, file.stored.size());
+
+        List<String> replayed = restartAndReplay(true);
+        assertEquals(List.of("dbLogStorage"), replayed);
+        // 重放成功后不再重放
+        assertEquals(List.of(), restartAndReplay(true));
+    }
+
+    @Test
+    void failedReplayIsKeptForNextStart() {
+        LogEvent event = append(record("导出订单"));
+
+        assertEquals(List.of("dbLogStorage", "fileLogStorage"), restartAndReplay(false));
+        assertEquals(List.of("dbLogStorage", "fileLogStorage"), restartAndReplay(true));
+        assertEquals(List.of(), restartAndReplay(true));
+        event.release();
+    }
+
+    @Test
+    void successfulWritesAreNotReplayed() {
+        storageManager.store(append(record("删除订单")));
+
+        assertEquals(1, db.stored.size());
+        assertEquals(1, file.stored.size());
+        assertEquals(List.of(), restartAndReplay(true));
+    }
+
+    @Test
+    void completedEntryIsNotReplayed() {
+        append(record("删除订单")).complete();
+
+        assertEquals(List.of(), restartAndReplay(true));
+    }
+
+    private LogEvent append(BizLogRecord record) {
+        List<AbstractLogStorage> targets = List.of(db, file);
+        LogEvent event = new LogEvent(record, null, targets);
+        event.attach(wal.append(record, List.of(db.getBeanName(), file.getBeanName())), targets);
+        return event;
+    }
+
+    // 模拟重启：关闭后重新打开同一目录并重放，返回重放到的存储器名称
+    private List<String> restartAndReplay(boolean ack) {
+        wal.close();
+        wal = new WriteAheadLog(config);
+        List<String> replayed = new ArrayList<>();
+        wal.replay((record, storageBeanName, done) -> {
+            replayed.add(storageBeanName);
+            if (ack) {
+                done.run();
+            }
+        });
+        return replayed;
+    }
+
+    private static BizLogRecord record(String content) {
+        return BizLogRecord.builder()
+                .action(BizActions.of("DELETE"))
+                .content(content)
+                .time(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+
+    private static final class TestStorage extends AbstractLogStorage {
+        private final List<BizLogRecord> stored = new ArrayList<>();
+        private boolean failing;
+
+        TestStorage(String beanName) {
+            setBeanName(beanName);
+        }
+
+        @Override
+        public void store(BizLogRecord records) {
+            if (failing) {
+                throw new IllegalStateException("database is down");
+            }
+            stored.add(records);
+        }
+
+        @Override
+        protected boolean shouldStoreWhenException(Throwable ex) {
+            return true;
+        }
+
+        @Override
+        protected void handleException(Throwable ex) {
+            // do nothing
+        }
+    }
+}